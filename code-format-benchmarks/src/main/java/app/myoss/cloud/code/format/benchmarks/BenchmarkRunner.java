@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 运行基准测试，默认开启 gc profiler（输出每次操作分配的内存 gc.alloc.rate.norm 和 gc 次数），并把结果以 JSON
+ * 格式写入 jmh-result.json，方便对比不同版本的性能
+ *
+ * <pre>
+ * mvn -B package -pl code-format-benchmarks -am
+ * java -jar code-format-benchmarks/target/benchmarks.jar                      # 运行全部基准测试
+ * java -jar code-format-benchmarks/target/benchmarks.jar FormatText -p size=huge
+ * java -jar code-format-benchmarks/target/benchmarks.jar -rff base.json       # 指定结果文件
+ * </pre>
+ *
+ * 其它参数和 JMH 命令行参数相同，使用 -h 查看
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:57:36
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BenchmarkRunner {
+    private static final List<String> JMH_INFO_OPTIONS = Arrays.asList("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    /**
+     * 运行基准测试
+     *
+     * @param args JMH 命令行参数
+     * @throws CommandLineOptionException 命令行参数错误
+     * @throws RunnerException 运行基准测试异常
+     * @throws IOException 输出帮助信息异常
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        if (Arrays.stream(args).anyMatch(JMH_INFO_OPTIONS::contains)) {
+            Main.main(args);
+            return;
+        }
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        boolean hasGcProfiler = commandLineOptions.getProfilers().stream().anyMatch(
+                profiler -> GCProfiler.class.getName().equals(profiler.getKlass()) || "gc".equals(profiler.getKlass()));
+        if (!hasGcProfiler) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            builder.result("jmh-result.json");
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.myoss.cloud.code.format.eclipse.utils.FileUtils;
+
+/**
+ * 读取 Eclipse 格式化配置文件的基准测试：cached 走
+ * {@link FileUtils#readXmlJavaSettingsFile(URL, String)} 的缓存，parse 每次都使用 StAX
+ * 重新解析 xml 文件
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:41:03
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigLoadingBenchmark {
+    /**
+     * 格式化配置文件对应的 Java 版本
+     */
+    @Param({ "1.8", "11.0" })
+    public String complianceLevel;
+    private URL   formatConfigFile;
+
+    /**
+     * 初始化格式化配置文件
+     */
+    @Setup
+    public void setup() {
+        formatConfigFile = Objects.requireNonNull(ConfigLoadingBenchmark.class.getClassLoader()
+                .getResource("eclipse-formatter-config/Default-Formatter-" + complianceLevel + ".xml"));
+    }
+
+    /**
+     * 读取格式化配置文件，命中缓存
+     *
+     * @return 格式化配置
+     */
+    @Benchmark
+    public Properties cached() {
+        return FileUtils.readXmlJavaSettingsFile(formatConfigFile, "Default");
+    }
+
+    /**
+     * 重新解析格式化配置文件
+     *
+     * @return 格式化配置
+     * @throws IOException 读取文件异常
+     */
+    @Benchmark
+    public Map<String, String> parse() throws IOException {
+        try (InputStream inputStream = formatConfigFile.openStream()) {
+            return FileUtils.readXmlJavaSettings(inputStream, "Default");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * {@link JavaCodeFormatter#formatDirectory(String, int)}
+ * 端到端基准测试，每次调用之前都会把生成的源代码目录还原成没有格式化过的内容
+ *
+ * 并行格式化时 gc.alloc.rate.norm 只统计调用线程分配的内存，内存分配以 gc.churn.* 为准
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:49:27
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FormatDirectoryBenchmark {
+    /**
+     * 生成的 Java 文件数量
+     */
+    @Param({ "500" })
+    public int                fileCount;
+    /**
+     * 并行格式化的线程数量，为 1 时使用 {@link JavaCodeFormatter#formatDirectory(String)}
+     */
+    @Param({ "1", "4" })
+    public int                parallelism;
+    private Path              directory;
+    private List<Path>        files;
+    private List<byte[]>      contents;
+    private JavaCodeFormatter formatter;
+
+    /**
+     * 在临时目录中生成源代码
+     *
+     * @throws IOException 创建临时目录异常
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("code-format-benchmarks");
+        files = JavaSources.writeCorpus(directory, fileCount, 42);
+        contents = new ArrayList<>(files.size());
+        for (Path file : files) {
+            contents.add(Files.readAllBytes(file));
+        }
+        formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+    }
+
+    /**
+     * 还原没有格式化过的源代码
+     *
+     * @throws IOException 写入文件异常
+     */
+    @Setup(Level.Invocation)
+    public void restore() throws IOException {
+        for (int i = 0; i < files.size(); i++) {
+            Files.write(files.get(i), contents.get(i));
+        }
+    }
+
+    /**
+     * 删除临时目录
+     *
+     * @throws IOException 删除文件异常
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 格式化整个目录
+     *
+     * @return 格式化失败的信息
+     */
+    @Benchmark
+    public List<String> formatDirectory() {
+        List<String> result = (parallelism == 1 ? formatter.formatDirectory(directory.toString())
+                : formatter.formatDirectory(directory.toString(), parallelism));
+        if (!result.isEmpty()) {
+            throw new BizRuntimeException("format directory failed: " + result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+
+/**
+ * {@link JavaCodeFormatter#formatText(StringBuilder)} 基准测试，分别格式化小、中、大三种文件
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:18:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatTextBenchmark {
+    /**
+     * 文件大小：small 大约 50 行，medium 大约 1000 行，huge 大约 20000 行
+     */
+    @Param({ "small", "medium", "huge" })
+    public String             size;
+    private JavaCodeFormatter formatter;
+    private String            source;
+
+    /**
+     * 初始化格式化工具和需要格式化的源代码
+     */
+    @Setup
+    public void setup() {
+        formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        int methodCount;
+        if ("small".equals(size)) {
+            methodCount = 2;
+        } else if ("medium".equals(size)) {
+            methodCount = 60;
+        } else {
+            methodCount = 1300;
+        }
+        source = JavaSources.unformattedClass("FormatTextBenchmark", methodCount, 42);
+    }
+
+    /**
+     * 格式化 Java 代码
+     *
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     */
+    @Benchmark
+    public String formatText() throws BadLocationException {
+        return formatter.formatText(new StringBuilder(source));
+    }
+}
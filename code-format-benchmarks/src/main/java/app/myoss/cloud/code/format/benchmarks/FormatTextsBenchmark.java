@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.report.TextFormatResult;
+
+/**
+ * {@link JavaCodeFormatter#formatTexts(Map, int)} 基准测试，模拟代码生成工具一次生成几百个类，与逐个调用
+ * {@link JavaCodeFormatter#formatText(StringBuilder)} 对比
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午3:12:05
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FormatTextsBenchmark {
+    /**
+     * 生成的类的数量
+     */
+    @Param({ "300" })
+    public int                        classCount;
+    private JavaCodeFormatter         formatter;
+    private Map<String, CharSequence> sources;
+
+    /**
+     * 初始化格式化工具和需要格式化的源代码
+     */
+    @Setup
+    public void setup() {
+        formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        sources = new LinkedHashMap<>();
+        for (int i = 0; i < classCount; i++) {
+            String className = "Generated" + i;
+            sources.put(className, JavaSources.unformattedClass(className, 4, i));
+        }
+    }
+
+    /**
+     * 逐个格式化
+     *
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     */
+    @Benchmark
+    public Map<String, String> oneByOne() throws BadLocationException {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<String, CharSequence> entry : sources.entrySet()) {
+            result.put(entry.getKey(), formatter.formatText(new StringBuilder(entry.getValue())));
+        }
+        return result;
+    }
+
+    /**
+     * 批量并行格式化
+     *
+     * @return 格式化结果
+     */
+    @Benchmark
+    public Map<String, TextFormatResult> batch() {
+        return formatter.formatTexts(sources);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportNameResolver;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ClassLoadingImportNameResolver;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ClasspathIndexImportNameResolver;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+
+/**
+ * {@link ImportsComparator} 基准测试：warm 复用同一个排序规则（命中缓存），cold 每次创建新的排序规则（包含解析
+ * import 名称的开销）
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:34:51
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportsComparatorBenchmark {
+    /**
+     * import 名称解析器：classLoading 通过加载类解析，classpathIndex 通过 classpath 索引解析
+     */
+    @Param({ "classLoading", "classpathIndex" })
+    public String              resolver;
+    /**
+     * import 数量
+     */
+    @Param({ "100", "1000" })
+    public int                 importCount;
+    private ImportNameResolver importNameResolver;
+    private ImportsComparator  comparator;
+    private List<String>       imports;
+
+    /**
+     * 初始化 import 名称解析器和需要排序的 import，一部分是 JDK 中真实存在的类（包括嵌套类）
+     */
+    @Setup
+    public void setup() {
+        importNameResolver = ("classLoading".equals(resolver) ? new ClassLoadingImportNameResolver()
+                : ClasspathIndexImportNameResolver.scanClassPath());
+        comparator = new ImportsComparator(importNameResolver);
+        imports = new ArrayList<>(JavaSources.imports(importCount, 8, 42));
+        List<String> jdkClasses = Arrays.asList("java.util.Map.Entry", "java.util.AbstractMap.SimpleEntry",
+                "java.lang.Thread.State", "java.util.concurrent.ConcurrentHashMap", "java.util.List", "java.io.File",
+                "java.nio.file.Files", "java.util.stream.Collectors");
+        for (int i = 0; i < imports.size(); i += 4) {
+            imports.set(i, jdkClasses.get(i % jdkClasses.size()));
+        }
+    }
+
+    /**
+     * 使用已经缓存了 import 名称的排序规则排序
+     *
+     * @return 排序后的 import
+     */
+    @Benchmark
+    public List<String> sortWarm() {
+        List<String> copy = new ArrayList<>(imports);
+        copy.sort(comparator);
+        return copy;
+    }
+
+    /**
+     * 使用新的排序规则排序，每个 import 名称都需要重新解析
+     *
+     * @return 排序后的 import
+     */
+    @Benchmark
+    public List<String> sortCold() {
+        List<String> copy = new ArrayList<>(imports);
+        copy.sort(new ImportsComparator(importNameResolver));
+        return copy;
+    }
+}
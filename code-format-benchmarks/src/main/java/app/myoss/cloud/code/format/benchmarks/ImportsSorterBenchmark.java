@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter450;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+
+/**
+ * {@link ImportsSorter450} 和 {@link ImportsSorter452} 基准测试，对比不同 import
+ * 数量和排序规则分组数量下的性能
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:26:12
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportsSorterBenchmark {
+    /**
+     * import 排序工具的版本
+     */
+    @Param({ "450", "452" })
+    public String         sorter;
+    /**
+     * import 数量
+     */
+    @Param({ "10", "100", "1000" })
+    public int            importCount;
+    /**
+     * import 排序规则的分组数量
+     */
+    @Param({ "4", "32" })
+    public int            groupCount;
+    private ImportsSorter importsSorter;
+    private List<String>  imports;
+
+    /**
+     * 初始化 import 排序工具和需要排序的 import
+     */
+    @Setup
+    public void setup() {
+        List<String> importOrder = JavaSources.importOrder(groupCount);
+        importsSorter = ("450".equals(sorter) ? new ImportsSorter450(importOrder)
+                : new ImportsSorter452(importOrder, new ImportsComparator()));
+        imports = JavaSources.imports(importCount, groupCount, 42);
+    }
+
+    /**
+     * 排序 import
+     *
+     * @return 排序后的 import 代码块
+     */
+    @Benchmark
+    public String sort() {
+        return importsSorter.sort(imports);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 生成基准测试使用的 Java 源代码，使用固定的随机数种子，保证每次运行生成的内容相同
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:02:15
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class JavaSources {
+    private static final String[] ROOT_PACKAGES = { "java.util", "java.io", "javax.annotation", "org.springframework",
+            "org.apache.commons", "com.google.common", "app.myoss.cloud", "lombok" };
+
+    /**
+     * 生成一个没有格式化过的 Java 类，包含 import 代码块、字段、方法、lambda 表达式和数组常量
+     *
+     * @param className 类名
+     * @param methodCount 方法数量，每个方法大约 15 行代码
+     * @param seed 随机数种子
+     * @return Java 源代码
+     */
+    public static String unformattedClass(String className, int methodCount, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(methodCount * 600);
+        builder.append("package app.myoss.benchmark.generated;\n\n");
+        for (String name : imports(Math.min(10 + methodCount / 4, 60), 4, random.nextLong())) {
+            builder.append("import ").append(name).append(";\n");
+        }
+        builder.append("\n/**\n * generated class\n */\npublic   class ").append(className).append("{\n");
+        builder.append("private static final int[] TABLE={");
+        for (int i = 0; i < 40; i++) {
+            builder.append(random.nextInt(1000)).append(i < 39 ? "," : "");
+        }
+        builder.append("};\n");
+        for (int i = 0; i < methodCount; i++) {
+            builder.append("\tprivate    String field").append(i).append(" =\"value").append(i).append("\";\n");
+        }
+        for (int i = 0; i < methodCount; i++) {
+            int bound = random.nextInt(100);
+            builder.append("  /**\n   * method ").append(i).append(
+                    "\n   * @param values values\n   * @return result\n   */\n");
+            builder.append("public  java.util.List<String> method").append(i).append(
+                    "( java.util.List<String> values ){\n");
+            builder.append("java.util.List<String> result=new java.util.ArrayList<>();\n");
+            builder.append("for(int i=0;i<values.size();i++){ if(i%").append(bound + 2).append("==0){\n");
+            builder.append("        result.add(values.get(i)+field").append(i).append("+TABLE[i%TABLE.length]);}\n");
+            builder.append("\telse{result.add( values.get(i).trim( ) );}\n   }\n");
+            builder.append("values.stream().filter(v->v.length()>").append(bound).append(
+                    ").map(v->{ return v.toUpperCase(); }).forEach(result::add);\n");
+            builder.append("if (result.isEmpty()) {   throw new IllegalStateException(\"empty ").append(i).append(
+                    "\");   }\n");
+            builder.append("return result;\n}\n");
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    /**
+     * 生成 import 名称，包含普通的和 static 的 import
+     *
+     * @param count import 数量
+     * @param groupCount 根包名的数量，数量越多，能匹配上排序规则的分组越多
+     * @param seed 随机数种子
+     * @return import 名称，比如：org.springframework.g3.p12.Type45
+     */
+    public static List<String> imports(int count, int groupCount, long seed) {
+        Random random = new Random(seed);
+        List<String> imports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = groupPackage(random.nextInt(groupCount)) + ".p" + random.nextInt(20) + ".Type" + i;
+            imports.add(random.nextInt(10) == 0 ? "static " + name + ".CONSTANT" : name);
+        }
+        return imports;
+    }
+
+    /**
+     * 生成 import 排序规则，每个分组对应 {@link #imports(int, int, long)} 中的一个根包名
+     *
+     * @param groupCount 分组数量
+     * @return import 排序规则
+     */
+    public static List<String> importOrder(int groupCount) {
+        List<String> importOrder = new ArrayList<>(groupCount + 1);
+        for (int i = 0; i < groupCount; i++) {
+            importOrder.add(groupPackage(i));
+        }
+        importOrder.add("");
+        return importOrder;
+    }
+
+    /**
+     * 在指定的目录中生成没有格式化过的 Java 文件，文件大小不一，模拟真实项目的源代码目录
+     *
+     * @param directory 目录
+     * @param fileCount 文件数量
+     * @param seed 随机数种子
+     * @return 生成的文件
+     */
+    public static List<Path> writeCorpus(Path directory, int fileCount, long seed) {
+        Random random = new Random(seed);
+        List<Path> files = new ArrayList<>(fileCount);
+        try {
+            for (int i = 0; i < fileCount; i++) {
+                Path packageDirectory = directory.resolve("module" + (i % 8)).resolve("src/main/java/p" + (i % 16));
+                Files.createDirectories(packageDirectory);
+                Path file = packageDirectory.resolve("Generated" + i + ".java");
+                // 大多数文件较小，少量文件较大
+                int methodCount = (random.nextInt(10) == 0 ? 40 + random.nextInt(60) : 2 + random.nextInt(10));
+                String content = unformattedClass("Generated" + i, methodCount, random.nextLong());
+                Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+                files.add(file);
+            }
+        } catch (IOException ex) {
+            throw new BizRuntimeException("write corpus failed: " + directory, ex);
+        }
+        return files;
+    }
+
+    private static String groupPackage(int group) {
+        String root = ROOT_PACKAGES[group % ROOT_PACKAGES.length];
+        return (group < ROOT_PACKAGES.length ? root : root + ".g" + group);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+/**
+ * 取消格式化任务的标记，通过
+ * {@link JavaCodeFormatter#setCancellationToken(CancellationToken)} 设置，通过
+ * {@link JavaCodeFormatter#copy()} 复制的格式化工具共用同一个标记；调用 {@link #cancel()}
+ * 之后，还没有开始的文件不会再格式化，正在格式化的文件会被放弃，这些文件都保持不变。每次格式化任务应该使用新的标记
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午1:05:42
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * 取消格式化任务
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * 格式化任务是否已经取消
+     *
+     * @return true: 已经取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 有格式化超时限制或者可以取消时，在后台线程中执行的格式化任务。eclipse 格式化不响应中断，超时或者取消之后被放弃的任务会继续运行直到结束；
+ * 所有实例共享一个后台线程池，被放弃但仍在运行的任务达到 {@link #MAX_ABANDONED_TASKS} 之后拒绝新的任务，直到有任务运行结束，
+ * 所以线程数不超过正在等待结果的调用方数量加上 {@link #MAX_ABANDONED_TASKS}
+ *
+ * @param <V> 任务结果的类型
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午7:42:15
+ */
+final class DeadlineTask<V> {
+    /**
+     * 被放弃但仍在运行的任务数量上限，每个任务占用一个 CPU，默认为 CPU 核数，至少为2
+     */
+    static final int                   MAX_ABANDONED_TASKS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final Executor      POOL                = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("code-format-deadline-%d").build());
+    private static final AtomicInteger ABANDONED_TASKS     = new AtomicInteger();
+    private final FutureTask<V>        future;
+    /**
+     * 任务运行结束或者被放弃时设置为 true，两者只有先发生的一方生效，被放弃的任务运行结束之后释放名额
+     */
+    private final AtomicBoolean        finished            = new AtomicBoolean();
+
+    private DeadlineTask(Callable<V> callable) {
+        this.future = new FutureTask<>(callable);
+    }
+
+    /**
+     * 在后台线程池中开始执行任务
+     *
+     * @param name 任务名称，用于异常信息，比如文件路径
+     * @param callable 任务
+     * @param <V> 任务结果的类型
+     * @return 正在执行的任务
+     * @throws RejectedExecutionException 被放弃但仍在运行的任务已经达到
+     *             {@link #MAX_ABANDONED_TASKS}
+     */
+    static <V> DeadlineTask<V> start(String name, Callable<V> callable) {
+        int abandoned = ABANDONED_TASKS.get();
+        if (abandoned >= MAX_ABANDONED_TASKS) {
+            throw new RejectedExecutionException(
+                    "too many abandoned format tasks are still running: " + abandoned + ", reject: " + name);
+        }
+        DeadlineTask<V> task = new DeadlineTask<>(callable);
+        POOL.execute(task::run);
+        return task;
+    }
+
+    /**
+     * 被放弃但仍在运行的任务数量
+     *
+     * @return 任务数量
+     */
+    static int abandonedTasks() {
+        return ABANDONED_TASKS.get();
+    }
+
+    private void run() {
+        try {
+            future.run();
+        } finally {
+            if (!finished.compareAndSet(false, true)) {
+                ABANDONED_TASKS.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 等待任务的结果
+     *
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 任务的结果
+     * @throws InterruptedException 当前线程被中断
+     * @throws ExecutionException 任务执行失败
+     * @throws TimeoutException 等待超时，任务仍在运行
+     */
+    V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(timeout, unit);
+    }
+
+    /**
+     * 放弃任务，不再等待结果；仍在运行的任务计入 {@link #MAX_ABANDONED_TASKS}，直到运行结束
+     */
+    void abandon() {
+        if (finished.compareAndSet(false, true)) {
+            ABANDONED_TASKS.incrementAndGet();
+        }
+        future.cancel(true);
+    }
+}
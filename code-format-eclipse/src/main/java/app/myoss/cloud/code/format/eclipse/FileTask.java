@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.util.List;
+
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+
+/**
+ * 单个文件的格式化任务，在读取、格式化、写入三个步骤之间传递文件内容；在 {@link FormatPipeline}
+ * 中，每个步骤可能在不同的线程中执行，通过阻塞队列交接保证内存可见性
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:10:26
+ */
+final class FileTask {
+    final String          filePath;
+    final List<LineRange> lineRanges;
+    /**
+     * 读取的文件内容，任务结束之后为 null
+     */
+    String                source;
+    /**
+     * 格式化之后的内容，任务结束之后为 null
+     */
+    CharSequence          formatted;
+    /**
+     * 各个步骤实际执行的耗时之和，不包括在队列中等待的时间
+     */
+    long                  activeNanos;
+    /**
+     * 格式化结果，不为 null 时表示任务已经结束
+     */
+    FileFormatResult      result;
+
+    FileTask(String filePath, List<LineRange> lineRanges) {
+        this.filePath = filePath;
+        this.lineRanges = lineRanges;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FormatReport;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 流水线方式格式化文件夹中的 Java 代码：遍历文件夹 → 读取文件（I/O 线程）→ 格式化（CPU 线程，每个线程使用独立的
+ * {@link JavaCodeFormatter#copy()} 副本）→ 写入文件（I/O 线程），各个阶段之间通过有界队列连接。
+ * <p>
+ * 读写文件的延迟被格式化的耗时掩盖，适合网络存储等 I/O 延迟较高的场景；队列满时上游阶段阻塞等待，
+ * 同时在内存中的文件内容不会超过队列容量和线程数之和
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:15:08
+ */
+@Slf4j
+public class FormatPipeline {
+    /**
+     * 默认的读取、写入文件线程数
+     */
+    public static final int         DEFAULT_IO_THREADS = 4;
+    /**
+     * 队列结束标记，每个阶段的最后一个线程结束时，向下游队列中为每个下游线程放入一个结束标记
+     */
+    private static final FileTask   END                = new FileTask(null, null);
+    /**
+     * 等待队列时检查流水线是否已经失败的间隔
+     */
+    private static final long       POLL_MILLIS        = 100;
+    private final JavaCodeFormatter formatter;
+    private final int               readThreads;
+    private final int               formatThreads;
+    private final int               writeThreads;
+    private final int               queueCapacity;
+
+    /**
+     * 流水线方式格式化 Java 代码
+     *
+     * @param formatter Java代码格式化工具，读取和写入阶段共用这个实例（只使用线程安全的部分），格式化阶段使用它的副本
+     * @param readThreads 读取文件的线程数
+     * @param formatThreads 格式化的线程数，推荐使用 CPU 核数
+     * @param writeThreads 写入文件的线程数
+     * @param queueCapacity 每个阶段之间队列的容量
+     */
+    public FormatPipeline(JavaCodeFormatter formatter, int readThreads, int formatThreads, int writeThreads,
+                          int queueCapacity) {
+        if (readThreads < 1 || formatThreads < 1 || writeThreads < 1) {
+            throw new IllegalArgumentException("threads must be greater than 0");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be greater than 0");
+        }
+        this.formatter = formatter;
+        this.readThreads = readThreads;
+        this.formatThreads = formatThreads;
+        this.writeThreads = writeThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 流水线方式格式化 Java 代码，读取、写入文件的线程数为 {@link #DEFAULT_IO_THREADS}，格式化的线程数为 CPU
+     * 核数，队列容量为格式化线程数的4倍
+     *
+     * @param formatter Java代码格式化工具
+     */
+    public FormatPipeline(JavaCodeFormatter formatter) {
+        this(formatter, DEFAULT_IO_THREADS, Runtime.getRuntime().availableProcessors(), DEFAULT_IO_THREADS,
+                Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * 格式化文件夹中的 Java 代码
+     *
+     * @param directoryPath 文件夹路径
+     * @return 格式化报告，文件的顺序与遍历文件夹的顺序一致，每个文件的耗时不包括在队列中等待的时间
+     * @throws BizRuntimeException 流水线中的线程异常结束，比如格式化时抛出了 {@link Error}
+     */
+    public FormatReport formatDirectory(String directoryPath) {
+        long start = System.nanoTime();
+        BlockingQueue<FileTask> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<FileTask> formatQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<FileTask> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger runningReaders = new AtomicInteger(readThreads);
+        AtomicInteger runningFormatters = new AtomicInteger(formatThreads);
+        AtomicInteger runningWriters = new AtomicInteger(writeThreads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(readThreads + formatThreads + writeThreads,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("code-format-pipeline-%d").build());
+        List<Future<?>> workers = new ArrayList<>();
+        List<FileTask> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < readThreads; i++) {
+                workers.add(executor.submit(
+                        stage(readQueue, formatQueue, runningReaders, formatThreads, failure, formatter::readStep)));
+            }
+            for (int i = 0; i < formatThreads; i++) {
+                JavaCodeFormatter worker = formatter.copy();
+                workers.add(executor.submit(
+                        stage(formatQueue, writeQueue, runningFormatters, writeThreads, failure, worker::formatStep)));
+            }
+            for (int i = 0; i < writeThreads; i++) {
+                workers.add(executor.submit(stage(writeQueue, null, runningWriters, 0, failure, task -> {
+                    formatter.writeStep(task);
+                    return false;
+                })));
+            }
+            walk(formatter.fileSelector, directoryPath, readQueue, tasks, failure);
+            for (int i = 0; i < readThreads; i++) {
+                put(readQueue, END, failure);
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BizRuntimeException("format directory interrupted: " + directoryPath, ex);
+        } catch (ExecutionException | CancellationException ex) {
+            // 优先抛出第一个异常结束的线程的异常，其它线程只是因为流水线失败而停止
+            Throwable cause = failure.get();
+            if (cause == null) {
+                cause = (ex instanceof ExecutionException ? ex.getCause() : ex);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new BizRuntimeException("format directory: " + directoryPath, cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        formatter.fileWriter.flush();
+        List<FileFormatResult> results = tasks.stream().map(task -> task.result).collect(Collectors.toList());
+        FormatReport report = new FormatReport(directoryPath, System.nanoTime() - start, results);
+        log.info("{}", report);
+        return report;
+    }
+
+    private static void walk(JavaFileSelector fileSelector, String directoryPath, BlockingQueue<FileTask> readQueue,
+                             List<FileTask> tasks, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        try {
+            fileSelector.walk(Paths.get(directoryPath), file -> {
+                FileTask task = new FileTask(file.toString(), null);
+                tasks.add(task);
+                try {
+                    put(readQueue, task, failure);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("walk directory interrupted", ex);
+                }
+            });
+        } catch (IOException ex) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException(ex.getMessage());
+            }
+            throw new BizRuntimeException("read directory: " + directoryPath, ex);
+        }
+    }
+
+    /**
+     * 流水线的一个阶段：从上游队列中取出任务执行，需要继续处理的任务放入下游队列；线程异常结束时记录到 failure
+     * 中，其它阶段的线程在等待队列时发现之后停止，避免阻塞在已经没有消费者（或者生产者）的队列上
+     *
+     * @param input 上游队列
+     * @param output 下游队列，最后一个阶段为 null
+     * @param running 当前阶段还在运行的线程数
+     * @param consumers 下游阶段的线程数
+     * @param failure 流水线中第一个异常结束的线程的异常
+     * @param step 执行的步骤，返回 true 时放入下游队列
+     * @return 阶段任务
+     */
+    private static Callable<Void> stage(BlockingQueue<FileTask> input, BlockingQueue<FileTask> output,
+                                        AtomicInteger running, int consumers, AtomicReference<Throwable> failure,
+                                        Predicate<FileTask> step) {
+        return () -> {
+            try {
+                FileTask task;
+                while ((task = take(input, failure)) != END) {
+                    if (step.test(task)) {
+                        put(output, task, failure);
+                    }
+                }
+            } catch (Throwable ex) {
+                failure.compareAndSet(null, ex);
+                throw ex;
+            } finally {
+                if (running.decrementAndGet() == 0 && output != null && failure.get() == null) {
+                    for (int i = 0; i < consumers; i++) {
+                        put(output, END, failure);
+                    }
+                }
+            }
+            return null;
+        };
+    }
+
+    private static FileTask take(BlockingQueue<FileTask> queue, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        FileTask task;
+        while ((task = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            checkFailure(failure);
+        }
+        return task;
+    }
+
+    private static void put(BlockingQueue<FileTask> queue, FileTask task, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        while (!queue.offer(task, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkFailure(failure);
+        }
+    }
+
+    private static void checkFailure(AtomicReference<Throwable> failure) {
+        if (failure.get() != null) {
+            throw new CancellationException("format pipeline aborted: " + failure.get());
+        }
+    }
+}
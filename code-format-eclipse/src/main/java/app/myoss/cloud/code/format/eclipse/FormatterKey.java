@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorterType;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 格式化规则的唯一标识：格式化规则文件、profile、Java 版本、import 排序方式和排序规则，用于
+ * {@link FormatterRegistry} 缓存编译好的格式化工具
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午6:05:31
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class FormatterKey {
+    /**
+     * EclipseCodeFormatter 格式化规则文件路径
+     */
+    private final String            formatConfigFile;
+    /**
+     * EclipseCodeFormatter 格式化规则文件中的 name 属性
+     */
+    private final String            profile;
+    /**
+     * 被格式化代码的 Java 版本，比如：1.8、11
+     */
+    private final String            complianceLevel;
+    /**
+     * import 排序规则，为 null 时使用 {@link ImportsSorter#defaultOrder()}
+     */
+    private final List<String>      importOrder;
+    /**
+     * import 排序方式
+     */
+    private final ImportsSorterType importsSorterType;
+
+    /**
+     * 格式化规则的唯一标识
+     *
+     * @param formatConfigFile EclipseCodeFormatter 格式化规则文件路径
+     * @param profile EclipseCodeFormatter 格式化规则文件中的 name 属性，具体使用哪个 profile
+     * @param complianceLevel 被格式化代码的 Java 版本，比如：1.8、11
+     * @param importOrder import 排序规则，为 null 时使用默认排序规则
+     * @param importsSorterType import 排序方式
+     */
+    public FormatterKey(URL formatConfigFile, String profile, String complianceLevel, List<String> importOrder,
+                        ImportsSorterType importsSorterType) {
+        this.formatConfigFile = formatConfigFile.toExternalForm();
+        this.profile = profile;
+        this.complianceLevel = complianceLevel;
+        this.importOrder = (importOrder != null ? Collections.unmodifiableList(new ArrayList<>(importOrder)) : null);
+        this.importsSorterType = importsSorterType;
+    }
+
+    /**
+     * 格式化规则的唯一标识，import 排序方式使用 {@link ImportsSorterType#ECLIPSE_452}
+     *
+     * @param formatConfigFile EclipseCodeFormatter 格式化规则文件路径
+     * @param profile EclipseCodeFormatter 格式化规则文件中的 name 属性，具体使用哪个 profile
+     * @param complianceLevel 被格式化代码的 Java 版本，比如：1.8、11
+     * @param importOrder import 排序规则，为 null 时使用默认排序规则
+     */
+    public FormatterKey(URL formatConfigFile, String profile, String complianceLevel, List<String> importOrder) {
+        this(formatConfigFile, profile, complianceLevel, importOrder, ImportsSorterType.ECLIPSE_452);
+    }
+
+    /**
+     * 使用默认格式化规则（eclipse-formatter-config/Default-Formatter-{Java 版本}.xml）和默认
+     * import 排序规则
+     *
+     * @param complianceLevel 被格式化代码的 Java 版本，比如：1.7、1.8、11
+     * @return 格式化规则的唯一标识
+     */
+    public static FormatterKey defaultFor(String complianceLevel) {
+        return new FormatterKey(getDefaultFormatConfigFile(complianceLevel), "Default", complianceLevel, null);
+    }
+
+    /**
+     * 获取 EclipseCodeFormatter 格式化规则文件路径
+     *
+     * @return 格式化规则文件路径
+     */
+    public URL toFormatConfigFileUrl() {
+        try {
+            return new URL(formatConfigFile);
+        } catch (MalformedURLException ex) {
+            throw new BizRuntimeException("invalid url: " + formatConfigFile, ex);
+        }
+    }
+
+    private static URL getDefaultFormatConfigFile(String complianceLevel) {
+        ClassLoader classLoader = FormatterKey.class.getClassLoader();
+        URL url = classLoader.getResource("eclipse-formatter-config/Default-Formatter-" + complianceLevel + ".xml");
+        if (url == null) {
+            url = classLoader.getResource("eclipse-formatter-config/Default-Formatter-" + complianceLevel + ".0.xml");
+        }
+        if (url == null) {
+            throw new BizRuntimeException("no default formatter config for java version: " + complianceLevel);
+        }
+        return url;
+    }
+}
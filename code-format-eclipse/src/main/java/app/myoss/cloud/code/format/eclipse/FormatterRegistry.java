@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
+import app.myoss.cloud.code.format.eclipse.utils.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 编译好的格式化工具注册中心，每一种格式化规则（{@link FormatterKey}）只会编译一次，超过最大数量之后淘汰最近最少使用的格式化规则
+ *
+ * <pre>
+ * 适用于同一个进程中需要格式化多个模块的场景，比如：Java 8 和 Java 11 的模块使用不同的格式化规则
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午6:20:47
+ */
+@Slf4j
+public class FormatterRegistry {
+    private final int                                                 poolSize;
+    private final long                                                borrowTimeoutMillis;
+    private final LoadingCache<FormatterKey, PooledJavaCodeFormatter> formatters;
+    private final AtomicLong                                          buildCount = new AtomicLong();
+
+    /**
+     * 编译好的格式化工具注册中心
+     *
+     * @param maximumSize 最多缓存的格式化规则数量
+     * @param poolSize 每一种格式化规则的格式化工具对象池大小，参考 {@link PooledJavaCodeFormatter}
+     * @param borrowTimeout 从对象池中获取实例的最大等待时间
+     * @param unit 等待时间的单位
+     */
+    public FormatterRegistry(long maximumSize, int poolSize, long borrowTimeout, TimeUnit unit) {
+        this.poolSize = poolSize;
+        this.borrowTimeoutMillis = unit.toMillis(borrowTimeout);
+        this.formatters = CacheBuilder.newBuilder().maximumSize(maximumSize).build(CacheLoader.from(this::build));
+    }
+
+    /**
+     * 编译好的格式化工具注册中心，对象池大小为 CPU 核数，最大等待时间为30秒
+     *
+     * @param maximumSize 最多缓存的格式化规则数量
+     */
+    public FormatterRegistry(long maximumSize) {
+        this(maximumSize, Runtime.getRuntime().availableProcessors(), 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 获取格式化工具，如果还没有编译过则编译并缓存，返回的格式化工具是线程安全的；它由使用相同格式化规则的所有调用方共用，
+     * {@link PooledJavaCodeFormatter#getPrototype()} 是只读的，需要设置格式化结果缓存、文件编码等时使用
+     * {@link #newFormatter(FormatterKey)}
+     *
+     * @param key 格式化规则的唯一标识
+     * @return 线程安全的格式化工具
+     */
+    public PooledJavaCodeFormatter get(FormatterKey key) {
+        return formatters.getUnchecked(key);
+    }
+
+    /**
+     * 获取一个新的格式化工具实例，不需要重新读取和编译格式化规则；实例由调用方独占，可以修改设置，使用独立的计数，不会影响其它调用方
+     *
+     * @param key 格式化规则的唯一标识
+     * @return 新的格式化工具实例
+     */
+    public JavaCodeFormatter newFormatter(FormatterKey key) {
+        JavaCodeFormatter formatter = get(key).getPrototype().copy();
+        formatter.changedCount = new AtomicLong();
+        formatter.unchangedCount = new AtomicLong();
+        return formatter;
+    }
+
+    /**
+     * 缓存的格式化规则数量
+     *
+     * @return 格式化规则数量
+     */
+    public long size() {
+        return formatters.size();
+    }
+
+    /**
+     * 累计编译格式化规则的次数
+     *
+     * @return 编译次数
+     */
+    public long getBuildCount() {
+        return buildCount.get();
+    }
+
+    /**
+     * 清空所有的格式化规则
+     */
+    public void clear() {
+        formatters.invalidateAll();
+    }
+
+    private PooledJavaCodeFormatter build(FormatterKey key) {
+        buildCount.incrementAndGet();
+        log.debug("build formatter: {}", key);
+        Properties properties = FileUtils.readXmlJavaSettingsFile(key.toFormatConfigFileUrl(), key.getProfile());
+        ImportsSorter importsSorter = key.getImportsSorterType().create(key.getImportOrder());
+        JavaCodeFormatter prototype = new JavaCodeFormatter(properties, importsSorter, key.getComplianceLevel());
+        prototype.markReadOnly();
+        return new PooledJavaCodeFormatter(prototype, poolSize, borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
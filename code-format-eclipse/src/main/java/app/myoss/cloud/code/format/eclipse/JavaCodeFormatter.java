@@ -17,36 +17,66 @@
 
 package app.myoss.cloud.code.format.eclipse;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.nio.file.FileVisitResult;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.regex.Matcher;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.ObjIntConsumer;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.JavaVersion;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatter;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 
-import com.google.common.io.Files;
-
+import app.myoss.cloud.code.format.eclipse.cache.FormatCache;
+import app.myoss.cloud.code.format.eclipse.imports.ImportsScanner;
 import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
+import app.myoss.cloud.code.format.eclipse.imports.JavaHeader;
+import app.myoss.cloud.code.format.eclipse.metrics.FormatListener;
+import app.myoss.cloud.code.format.eclipse.metrics.FormatPhase;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.report.FormatReport;
+import app.myoss.cloud.code.format.eclipse.report.TextFormatResult;
+import app.myoss.cloud.code.format.eclipse.utils.AtomicFileWriter;
+import app.myoss.cloud.code.format.eclipse.utils.DiffUtils;
 import app.myoss.cloud.code.format.eclipse.utils.FileUtils;
+import app.myoss.cloud.code.format.eclipse.utils.GitUtils;
 import app.myoss.cloud.code.format.eclipse.utils.ImportsUtils;
+import app.myoss.cloud.code.format.eclipse.utils.TextUtils;
 import app.myoss.cloud.core.constants.MyossConstants;
 import app.myoss.cloud.core.exception.BizRuntimeException;
 import lombok.extern.slf4j.Slf4j;
@@ -61,14 +91,41 @@ import lombok.extern.slf4j.Slf4j;
 public class JavaCodeFormatter {
     /**
      * 匹配行尾空格
+     *
+     * @deprecated 格式化时使用 {@link TextUtils#stripTrailingSpaces(StringBuilder)} 移除行尾空格
      */
+    @Deprecated
     public static final Pattern    TRAILING_SPACES = Pattern.compile("([^ \\t\\r\\n])[ \\t]+$", Pattern.MULTILINE);
     /**
      * 当前项目使用的 Java 版本
      */
     public static final String     JAVA_VERSION    = JavaVersion.JAVA_RECENT.toString();
+    private static final long      POLL_NANOS      = TimeUnit.MILLISECONDS.toNanos(50);
+    protected Map<String, String>  formatterOptions;
     protected DefaultCodeFormatter defaultCodeFormatter;
     protected ImportsSorter        importsSorter;
+    protected FormatCache          formatCache;
+    protected FormatListener       formatListener;
+    protected CancellationToken    cancellationToken;
+    protected long                 maxFileSize;
+    protected long                 fileTimeoutNanos;
+    protected JavaFileSelector     fileSelector;
+    protected Charset              charset;
+    protected AtomicFileWriter     fileWriter;
+    /**
+     * 有格式化超时限制或者可以取消时，实际执行格式化的副本；超时或者取消之后被放弃，下一个文件使用新的副本
+     */
+    private JavaCodeFormatter      deadlineWorker;
+    /**
+     * 正在格式化的文件，只用于 {@link FormatListener} 统计耗时，格式化文本时为 null
+     */
+    private String                 currentFilePath;
+    /**
+     * 只读的实例不能修改设置，比如 {@link FormatterRegistry} 中共用的原型
+     */
+    private boolean                readOnly;
+    protected AtomicLong           changedCount;
+    protected AtomicLong           unchangedCount;
 
     /**
      * Java代码格式化工具
@@ -77,11 +134,50 @@ public class JavaCodeFormatter {
      * @param importsSorter Java import代码格式化工具
      */
     public JavaCodeFormatter(Properties properties, ImportsSorter importsSorter) {
-        properties.setProperty("org.eclipse.jdt.core.compiler.source", JAVA_VERSION);
-        properties.setProperty("org.eclipse.jdt.core.compiler.codegen.targetPlatform", JAVA_VERSION);
-        properties.setProperty("org.eclipse.jdt.core.compiler.compliance", JAVA_VERSION);
-        this.defaultCodeFormatter = new DefaultCodeFormatter(toMap(properties));
+        this(properties, importsSorter, JAVA_VERSION);
+    }
+
+    /**
+     * Java代码格式化工具
+     *
+     * @param properties EclipseCodeFormatter 格式化规则
+     * @param importsSorter Java import代码格式化工具
+     * @param complianceLevel 被格式化代码的 Java 版本，比如：1.8、11
+     */
+    public JavaCodeFormatter(Properties properties, ImportsSorter importsSorter, String complianceLevel) {
+        properties.setProperty("org.eclipse.jdt.core.compiler.source", complianceLevel);
+        properties.setProperty("org.eclipse.jdt.core.compiler.codegen.targetPlatform", complianceLevel);
+        properties.setProperty("org.eclipse.jdt.core.compiler.compliance", complianceLevel);
+        this.formatterOptions = toMap(properties);
+        this.defaultCodeFormatter = new DefaultCodeFormatter(formatterOptions);
         this.importsSorter = importsSorter;
+        this.fileSelector = new JavaFileSelector();
+        this.charset = MyossConstants.DEFAULT_CHARSET;
+        this.fileWriter = new AtomicFileWriter(false);
+        this.changedCount = new AtomicLong();
+        this.unchangedCount = new AtomicLong();
+    }
+
+    /**
+     * Java代码格式化工具，复制格式化规则，创建新的 {@link DefaultCodeFormatter}
+     * 实例（{@link DefaultCodeFormatter} 不是线程安全的，每个线程需要使用独立的实例）
+     *
+     * @param source 被复制的Java代码格式化工具
+     */
+    protected JavaCodeFormatter(JavaCodeFormatter source) {
+        this.formatterOptions = source.formatterOptions;
+        this.defaultCodeFormatter = new DefaultCodeFormatter(source.formatterOptions);
+        this.importsSorter = source.importsSorter;
+        this.formatCache = source.formatCache;
+        this.formatListener = source.formatListener;
+        this.cancellationToken = source.cancellationToken;
+        this.maxFileSize = source.maxFileSize;
+        this.fileTimeoutNanos = source.fileTimeoutNanos;
+        this.fileSelector = source.fileSelector;
+        this.charset = source.charset;
+        this.fileWriter = source.fileWriter;
+        this.changedCount = source.changedCount;
+        this.unchangedCount = source.unchangedCount;
     }
 
     /**
@@ -127,45 +223,492 @@ public class JavaCodeFormatter {
     }
 
     /**
-     * 格式化 Java 代码
+     * 复制一个新的Java代码格式化工具，用于在其它线程中格式化代码；并行格式化、对象池、流水线和格式化时间限制都通过这个方法创建副本。
+     * 子类必须重写这个方法返回子类的实例（通常通过 {@link #JavaCodeFormatter(JavaCodeFormatter)}
+     * 复制），否则副本会丢失子类重写的逻辑
+     *
+     * @return 新的Java代码格式化工具
+     * @throws UnsupportedOperationException 子类没有重写这个方法
+     */
+    public JavaCodeFormatter copy() {
+        if (getClass() != JavaCodeFormatter.class) {
+            throw new UnsupportedOperationException(getClass().getName() + " must override copy()");
+        }
+        return new JavaCodeFormatter(this);
+    }
+
+    /**
+     * 计算当前格式化规则的指纹，用于 {@link FormatCache#load(Path, String)}
+     *
+     * @return 格式化规则的指纹
+     */
+    public String getFingerprint() {
+        return FormatCache.fingerprint(formatterOptions, importsSorter);
+    }
+
+    /**
+     * 设置格式化结果缓存，已经使用相同规则格式化过的文件会被跳过，通过 {@link #copy()}
+     * 复制的格式化工具会共用这个缓存
+     *
+     * @param formatCache 格式化结果缓存，为 null 时不使用缓存
+     */
+    public void setFormatCache(FormatCache formatCache) {
+        checkWritable();
+        this.formatCache = formatCache;
+    }
+
+    /**
+     * 设置格式化过程的监听器，接收每个文件每个阶段的耗时，通过 {@link #copy()}
+     * 复制的格式化工具会共用这个监听器
+     *
+     * @param formatListener 格式化过程的监听器，为 null 时不统计耗时
+     */
+    public void setFormatListener(FormatListener formatListener) {
+        checkWritable();
+        this.formatListener = formatListener;
+    }
+
+    /**
+     * 设置取消格式化任务的标记，通过 {@link #copy()} 复制的格式化工具会共用这个标记
+     *
+     * @param cancellationToken 取消格式化任务的标记，为 null 时不能取消
+     */
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        checkWritable();
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * 设置文件大小限制，超过限制的文件不会格式化，比如生成的包含大量数组常量的文件
+     *
+     * @param maxFileSize 文件大小限制（字节），小于等于0时不限制
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        checkWritable();
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * 设置单个文件的格式化时间限制，超时的文件会被放弃，保持不变；eclipse
+     * 格式化不响应中断，超时的任务会继续在后台的守护线程中运行直到结束。被放弃但仍在运行的任务达到
+     * CPU 核数（至少为2，所有实例共享）之后，新的文件不再格式化，以 {@link RejectedExecutionException}
+     * 失败（{@link FileFormatStatus#FAILED}），直到有任务运行结束，避免卡住的文件无限制地占用线程和 CPU
+     *
+     * @param timeout 时间限制，小于等于0时不限制
+     * @param unit 时间单位
+     */
+    public void setFileTimeout(long timeout, TimeUnit unit) {
+        checkWritable();
+        this.fileTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * 设置格式化文件夹时选择文件的规则，比如排除构建输出和生成代码的文件夹、遵守 .gitignore 规则
+     *
+     * @param fileSelector 选择文件的规则
+     */
+    public void setFileSelector(JavaFileSelector fileSelector) {
+        checkWritable();
+        this.fileSelector = fileSelector;
+    }
+
+    /**
+     * 设置读取和写入文件时使用的编码，默认为 {@link MyossConstants#DEFAULT_CHARSET}
+     *
+     * @param charset 文件编码
+     */
+    public void setCharset(Charset charset) {
+        checkWritable();
+        this.charset = charset;
+    }
+
+    /**
+     * 设置写入文件的方式，默认原子写入但是不 fsync；使用 {@code new AtomicFileWriter(true)}
+     * 时，格式化文件夹结束之后批量 fsync 写入过的文件，单独调用 {@link #formatFile(String)} 时需要自己调用
+     * {@link AtomicFileWriter#flush()}
+     *
+     * @param fileWriter 写入文件的方式，通过 {@link #copy()} 复制的格式化工具会共用这个实例
+     */
+    public void setFileWriter(AtomicFileWriter fileWriter) {
+        checkWritable();
+        this.fileWriter = fileWriter;
+    }
+
+    /**
+     * 将当前实例设置为只读，之后修改设置时抛出 {@link UnsupportedOperationException}；通过 {@link #copy()}
+     * 复制的副本不是只读的，需要修改设置时复制一个新的实例
+     */
+    void markReadOnly() {
+        this.readOnly = true;
+    }
+
+    /**
+     * 是否只读，只读的实例不能修改设置
+     *
+     * @return true: 只读
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("formatter is read-only, change the settings of a copy()");
+        }
+    }
+
+    /**
+     * 格式化结果缓存
+     *
+     * @return 格式化结果缓存，为 null 时不使用缓存
+     */
+    public FormatCache getFormatCache() {
+        return formatCache;
+    }
+
+    /**
+     * 读取和写入文件时使用的编码
+     *
+     * @return 文件编码
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 累计格式化之后内容发生变化（重新写入了文件）的文件数量，通过 {@link #copy()}
+     * 复制的格式化工具会共用这个计数
+     *
+     * @return 内容发生变化的文件数量
+     */
+    public long getChangedCount() {
+        return changedCount.get();
+    }
+
+    /**
+     * 累计格式化之后内容没有变化（没有写入文件）的文件数量，通过 {@link #copy()}
+     * 复制的格式化工具会共用这个计数
+     *
+     * @return 内容没有变化的文件数量
+     */
+    public long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * 格式化 Java 代码；格式化文件、文件夹时也会调用子类重写的这个方法，但是需要额外复制文件内容，子类只需要修改格式化规则时建议重写
+     * {@link #format(String, List)}
      *
      * @param fileContent 文件内容
      * @return 格式化之后的内容
      * @throws BadLocationException 异常信息
      */
     public String formatText(StringBuilder fileContent) throws BadLocationException {
-        // 查找 import 位置
-        int s0 = fileContent.indexOf("import ");
-        if (s0 > -1) {
-            int s1 = fileContent.lastIndexOf("import ");
-            int s2 = fileContent.indexOf(";", s1);
-            String importText = fileContent.substring(s0, s2 + 1);
-            // 删除掉所有的 import
-            fileContent.delete(s0, s2 + 1);
+        return format(fileContent.toString(), null).toString();
+    }
+
+    /**
+     * 格式化 Java 代码，只格式化指定的代码行和 import 代码块，其它代码保持不变
+     *
+     * @param fileContent 文件内容
+     * @param lineRanges 需要格式化的代码行号范围（格式化之前的行号），比如通过
+     *            {@link DiffUtils#parseChangedLines(String)} 获取修改过的代码行
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     * @see #formatText(StringBuilder)
+     */
+    public String formatText(StringBuilder fileContent, List<LineRange> lineRanges) throws BadLocationException {
+        return format(fileContent.toString(), lineRanges).toString();
+    }
 
-            // import 排序
-            List<String> importList = ImportsUtils.trimImports(importText);
-            String importTextSort = importsSorter.sort(importList);
-            fileContent.insert(s0, importTextSort);
+    /**
+     * 格式化 Java 代码，返回耗时、格式化之后的内容、失败的异常等信息；与格式化文件一样保留原来的 BOM 和主要使用的换行符，格式化失败时不会抛出异常，遵守
+     * {@link #setFileTimeout(long, TimeUnit)} 和 {@link #setCancellationToken(CancellationToken)} 的限制
+     *
+     * @param name 代码的名称，比如类名，用于日志和 {@link FormatListener}，可以为 null
+     * @param source 代码内容
+     * @return 格式化结果
+     */
+    public TextFormatResult formatTextResult(String name, CharSequence source) {
+        long start = System.nanoTime();
+        String text = source.toString();
+        FileFormatStatus status;
+        String formatted = text;
+        Exception exception = null;
+        try {
+            CancellationToken token = cancellationToken;
+            if (token != null && token.isCancelled()) {
+                throw new CancellationException("format cancelled: " + name);
+            }
+            CharSequence result = formatContent(name, text, null);
+            status = (text.contentEquals(result) ? FileFormatStatus.UNCHANGED : FileFormatStatus.CHANGED);
+            formatted = result.toString();
+        } catch (TimeoutException ex) {
+            log.warn("format by eclipse formatter timed out: {}", name);
+            status = FileFormatStatus.TIMED_OUT;
+            exception = ex;
+        } catch (CancellationException ex) {
+            log.debug("format cancelled: {}", name);
+            status = FileFormatStatus.CANCELLED;
+        } catch (Exception ex) {
+            log.error("format by eclipse formatter failed: " + name, ex);
+            status = FileFormatStatus.FAILED;
+            exception = ex;
+        } finally {
+            currentFilePath = null;
         }
+        return new TextFormatResult(name, status, System.nanoTime() - start, text.length(), formatted, exception);
+    }
+
+    /**
+     * 批量格式化内存中的 Java 代码，比如代码生成工具生成的代码，并行线程数为 CPU 核数
+     *
+     * @param sources 代码的名称（比如类名）和内容
+     * @return 每段代码的格式化结果，顺序与 sources 的顺序一致
+     * @see #formatTexts(Map, int)
+     */
+    public Map<String, TextFormatResult> formatTexts(Map<String, ? extends CharSequence> sources) {
+        return formatTexts(sources, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 批量格式化内存中的 Java 代码，使用 {@link ForkJoinPool} 并行格式化，每个工作线程复用同一个 {@link #copy()}
+     * 副本，不需要每段代码都创建格式化工具；单段代码格式化失败不影响其它代码，失败信息记录在对应的结果中
+     *
+     * @param sources 代码的名称（比如类名）和内容
+     * @param parallelism 并行线程数，小于等于1时使用当前线程顺序格式化
+     * @return 每段代码的格式化结果，顺序与 sources 的顺序一致
+     */
+    public Map<String, TextFormatResult> formatTexts(Map<String, ? extends CharSequence> sources, int parallelism) {
+        List<String> names = new ArrayList<>(sources.keySet());
+        TextFormatResult[] results = new TextFormatResult[names.size()];
+        if (parallelism <= 1 || names.size() <= 1) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = formatTextResult(names.get(i), sources.get(names.get(i)));
+            }
+        } else {
+            forEachInParallel("format texts", names.size(), parallelism,
+                    (formatter, i) -> results[i] = formatter.formatTextResult(names.get(i), sources.get(names.get(i))));
+        }
+        Map<String, TextFormatResult> result = new LinkedHashMap<>(names.size() * 4 / 3 + 1);
+        for (int i = 0; i < results.length; i++) {
+            result.put(names.get(i), results[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 格式化 Java 代码；为了减少大文件的内存复制，import 没有变化时直接使用原内容，格式化的结果直接写入一个
+     * {@link StringBuilder}，不再经过 {@link Document}；注册了 {@link FormatListener}
+     * 时统计每个阶段的耗时。所有格式化入口最终都调用这个方法，子类可以重写它修改格式化的规则
+     *
+     * @param source 文件内容
+     * @param lineRanges 需要格式化的代码行号范围，为 null 时格式化全部代码
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     */
+    protected CharSequence format(String source, List<LineRange> lineRanges) throws BadLocationException {
+        FormatListener listener = formatListener;
+        String filePath = currentFilePath;
+        ImportBlock importBlock = sortImports(filePath, source, listener);
+        String text = (importBlock != null ? importBlock.text : source);
 
         // 格式化
-        String text = fileContent.toString();
-        IDocument doc = new Document();
-        doc.set(text);
-        int length = fileContent.length();
-        TextEdit edit = defaultCodeFormatter.format(CodeFormatter.K_COMPILATION_UNIT | CodeFormatter.F_INCLUDE_COMMENTS,
-                text, 0, length, 0, ImportsUtils.N);
-        edit.apply(doc);
-        String formatted = doc.get();
-        Matcher matcher = TRAILING_SPACES.matcher(formatted);
-        if (matcher.find()) {
+        long start = (listener != null ? System.nanoTime() : 0L);
+        int kind = CodeFormatter.K_COMPILATION_UNIT | CodeFormatter.F_INCLUDE_COMMENTS;
+        TextEdit edit;
+        if (lineRanges == null) {
+            edit = defaultCodeFormatter.format(kind, text, 0, text.length(), 0, ImportsUtils.N);
+        } else {
+            IRegion[] regions = getRegions(text, importBlock, lineRanges);
+            if (regions.length == 0) {
+                return text;
+            }
+            edit = defaultCodeFormatter.format(kind, text, regions, 0, ImportsUtils.N);
+        }
+        if (edit == null) {
+            throw new BizRuntimeException("eclipse formatter can not format the source code");
+        }
+        start = phaseCompleted(listener, filePath, FormatPhase.FORMAT, start, text.length());
+        StringBuilder formatted = applyEdit(text, edit);
+        start = phaseCompleted(listener, filePath, FormatPhase.APPLY_EDIT, start, formatted.length());
+        if (lineRanges == null) {
             // 移除行尾空格
-            return matcher.replaceAll("$1");
+            TextUtils.stripTrailingSpaces(formatted);
+            phaseCompleted(listener, filePath, FormatPhase.STRIP_TRAILING_SPACES, start, formatted.length());
         }
         return formatted;
     }
 
+    /**
+     * 通知监听器一个阶段执行完成
+     *
+     * @param listener 格式化过程的监听器，为 null 时什么都不做
+     * @param filePath 文件路径
+     * @param phase 阶段
+     * @param start 阶段开始的时间
+     * @param length 这个阶段处理的字符数
+     * @return 当前时间，作为下一个阶段开始的时间
+     */
+    private static long phaseCompleted(FormatListener listener, String filePath, FormatPhase phase, long start,
+                                       long length) {
+        if (listener == null) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        listener.phaseCompleted(filePath, phase, now - start, length);
+        return now;
+    }
+
+    /**
+     * 对 import 代码块进行排序
+     *
+     * @param filePath 文件路径，只用于统计耗时
+     * @param source 文件内容
+     * @param listener 格式化过程的监听器，可以为 null
+     * @return 排序之后的 import 代码块，没有 import 时返回 null
+     */
+    private ImportBlock sortImports(String filePath, String source, FormatListener listener) {
+        // 查找 import 位置，只扫描头部，忽略注释、字符串中的 "import "
+        long start = (listener != null ? System.nanoTime() : 0L);
+        JavaHeader header = ImportsScanner.scan(source);
+        int s0 = header.getImportsStart();
+        start = phaseCompleted(listener, filePath, FormatPhase.IMPORT_SCAN, start, Math.max(s0, 0));
+        if (s0 == -1) {
+            return null;
+        }
+        int s2 = header.getImportsEnd();
+        String importText = source.substring(s0, s2);
+
+        // import 排序
+        String importTextSort = importsSorter.sort(header.getImportNames());
+        phaseCompleted(listener, filePath, FormatPhase.IMPORT_SORT, start, importText.length());
+        String text = source;
+        if (!importTextSort.equals(importText)) {
+            // 替换掉所有的 import
+            text = new StringBuilder(source.length() - importText.length() + importTextSort.length())
+                    .append(source, 0, s0)
+                    .append(importTextSort)
+                    .append(source, s2, source.length())
+                    .toString();
+        }
+        return new ImportBlock(text, s0, s0 + importTextSort.length(), StringUtils.countMatches(importText, '\n'),
+                StringUtils.countMatches(importTextSort, '\n'));
+    }
+
+    private static IRegion[] getRegions(String text, ImportBlock importBlock, List<LineRange> lineRanges) {
+        int[] lineOffsets = getLineOffsets(text);
+        int firstImportLine = (importBlock != null ? getLine(lineOffsets, importBlock.start) : 0);
+
+        List<IRegion> regions = new ArrayList<>();
+        if (importBlock != null) {
+            regions.add(new Region(importBlock.start, importBlock.end - importBlock.start));
+        }
+        for (LineRange lineRange : lineRanges) {
+            int startLine = lineRange.getStartLine();
+            int endLine = lineRange.getEndLine();
+            if (importBlock != null) {
+                // import 排序之后行数可能发生变化，调整 import 代码块之后的行号
+                startLine = importBlock.mapLine(firstImportLine, startLine);
+                endLine = importBlock.mapLine(firstImportLine, endLine);
+            }
+            if (startLine > lineOffsets.length) {
+                continue;
+            }
+            int offset = lineOffsets[startLine - 1];
+            int end = (endLine < lineOffsets.length ? lineOffsets[endLine] : text.length());
+            regions.add(new Region(offset, end - offset));
+        }
+        return mergeRegions(regions);
+    }
+
+    private static int[] getLineOffsets(String text) {
+        int[] offsets = new int[StringUtils.countMatches(text, '\n') + 1];
+        int line = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                offsets[line++] = i + 1;
+            }
+        }
+        return offsets;
+    }
+
+    private static int getLine(int[] lineOffsets, int offset) {
+        int index = Arrays.binarySearch(lineOffsets, offset);
+        return (index >= 0 ? index + 1 : -index - 1);
+    }
+
+    private static IRegion[] mergeRegions(List<IRegion> regions) {
+        regions.sort(Comparator.comparingInt(IRegion::getOffset));
+        List<IRegion> result = new ArrayList<>();
+        for (IRegion region : regions) {
+            IRegion last = (result.isEmpty() ? null : result.get(result.size() - 1));
+            if (last != null && region.getOffset() <= last.getOffset() + last.getLength()) {
+                int end = Math.max(last.getOffset() + last.getLength(), region.getOffset() + region.getLength());
+                result.set(result.size() - 1, new Region(last.getOffset(), end - last.getOffset()));
+            } else {
+                result.add(region);
+            }
+        }
+        return result.toArray(new IRegion[0]);
+    }
+
+    /**
+     * 将格式化的结果应用到原内容上，eclipse 格式化返回的是按位置排好序的替换操作，直接按顺序写入新的
+     * {@link StringBuilder}；遇到不支持的操作时使用 {@link Document} 处理
+     *
+     * @param text 原内容
+     * @param edit 格式化的结果
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     */
+    private static StringBuilder applyEdit(String text, TextEdit edit) throws BadLocationException {
+        if (!isSequentialEdit(edit, new int[] { 0 })) {
+            IDocument doc = new Document(text);
+            edit.apply(doc);
+            return new StringBuilder(doc.get());
+        }
+        StringBuilder result = new StringBuilder(text.length() + (text.length() >> 3));
+        int position = appendEdit(text, edit, 0, result);
+        return result.append(text, position, text.length());
+    }
+
+    private static boolean isSequentialEdit(TextEdit edit, int[] position) {
+        if (edit instanceof ReplaceEdit || edit instanceof InsertEdit || edit instanceof DeleteEdit) {
+            if (edit.getOffset() < position[0]) {
+                return false;
+            }
+            position[0] = edit.getOffset() + edit.getLength();
+            return true;
+        }
+        if (!(edit instanceof MultiTextEdit)) {
+            return false;
+        }
+        for (TextEdit child : edit.getChildren()) {
+            if (!isSequentialEdit(child, position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int appendEdit(String text, TextEdit edit, int position, StringBuilder result) {
+        if (edit instanceof MultiTextEdit) {
+            int current = position;
+            for (TextEdit child : edit.getChildren()) {
+                current = appendEdit(text, child, current, result);
+            }
+            return current;
+        }
+        result.append(text, position, edit.getOffset());
+        if (edit instanceof ReplaceEdit) {
+            result.append(((ReplaceEdit) edit).getText());
+        } else if (edit instanceof InsertEdit) {
+            result.append(((InsertEdit) edit).getText());
+        }
+        return edit.getOffset() + edit.getLength();
+    }
+
     /**
      * 格式化 Java 代码
      *
@@ -173,23 +716,308 @@ public class JavaCodeFormatter {
      * @return true: 格式化成功; false: 格式化失败
      */
     public boolean formatFile(String filePath) {
+        return formatFile(filePath, null);
+    }
+
+    /**
+     * 格式化 Java 代码，只格式化指定的代码行和 import 代码块
+     *
+     * @param filePath 文件路径
+     * @param lineRanges 需要格式化的代码行号范围，为 null 时格式化整个文件
+     * @return true: 格式化成功; false: 格式化失败
+     * @see #formatText(StringBuilder, List)
+     */
+    public boolean formatFile(String filePath, List<LineRange> lineRanges) {
+        return formatFileResult(filePath, lineRanges).isSuccess();
+    }
+
+    /**
+     * 格式化 Java 代码，返回耗时、格式化前后的字符数、失败的异常等信息；格式化失败（包括读取、写入文件失败）时不会抛出异常，文件保持不变
+     *
+     * @param filePath 文件路径
+     * @param lineRanges 需要格式化的代码行号范围，为 null 时格式化整个文件
+     * @return 格式化结果
+     */
+    public FileFormatResult formatFileResult(String filePath, List<LineRange> lineRanges) {
+        FileTask task = new FileTask(filePath, lineRanges);
+        if (readStep(task) && formatStep(task)) {
+            writeStep(task);
+        }
+        return task.result;
+    }
+
+    /**
+     * 检查 Java 文件是否已经格式化，不会修改文件；与 {@link #formatFileResult(String, List)}
+     * 使用相同的读取和格式化步骤（格式化结果缓存、大小和时间限制、BOM 和换行符的处理），结果为
+     * {@link FileFormatStatus#CHANGED} 时表示文件还没有格式化
+     *
+     * @param filePath 文件路径
+     * @return 检查结果
+     */
+    public FileFormatResult checkFileResult(String filePath) {
+        FileTask task = new FileTask(filePath, null);
+        if (readStep(task) && formatStep(task)) {
+            fileCompleted(task, System.nanoTime(), FileFormatStatus.CHANGED, null);
+        }
+        return task.result;
+    }
+
+    /**
+     * 读取文件，线程安全，可以在 I/O 线程中执行；被取消、超过大小限制、读取失败或者已经格式化过的文件在这一步结束
+     *
+     * @param task 格式化任务
+     * @return true: 需要继续格式化; false: 任务已经结束
+     */
+    boolean readStep(FileTask task) {
+        String filePath = task.filePath;
         log.info("starting to format by eclipse formatter: {}", filePath);
-        StringBuilder fileContent = new StringBuilder();
-        File sourceFile = new File(filePath);
+        FormatListener listener = formatListener;
+        long start = System.nanoTime();
         try {
-            Files.asCharSource(sourceFile, MyossConstants.DEFAULT_CHARSET).copyTo(fileContent);
-        } catch (IOException ex) {
-            throw new BizRuntimeException("read file: " + filePath, ex);
+            Path sourceFile = Paths.get(filePath);
+            CancellationToken token = cancellationToken;
+            if (token != null && token.isCancelled()) {
+                return fileCompleted(task, start, FileFormatStatus.CANCELLED, null);
+            }
+            if (maxFileSize > 0) {
+                long size = Files.size(sourceFile);
+                if (size > maxFileSize) {
+                    log.warn("skip file larger than {} bytes: {}, size: {}", maxFileSize, filePath, size);
+                    return fileCompleted(task, start, FileFormatStatus.TOO_LARGE, null, size, size, 0);
+                }
+            }
+            task.source = FileUtils.readFile(sourceFile, charset);
+            phaseCompleted(listener, filePath, FormatPhase.READ, start, task.source.length());
+
+            if (formatCache != null && formatCache.isFormatted(filePath, task.source)) {
+                log.debug("skip formatted file: {}", filePath);
+                unchangedCount.incrementAndGet();
+                task.formatted = task.source;
+                return fileCompleted(task, start, FileFormatStatus.SKIPPED, null);
+            }
+            task.activeNanos += System.nanoTime() - start;
+            return true;
+        } catch (Exception ex) {
+            log.error("format by eclipse formatter failed: " + filePath, ex);
+            return fileCompleted(task, start, FileFormatStatus.FAILED, ex);
         }
+    }
 
+    /**
+     * 格式化读取的文件内容，使用当前实例的 {@link DefaultCodeFormatter}，同一个实例不能在多个线程中同时执行；
+     * 内容没有变化、超时、被取消或者格式化失败的文件在这一步结束
+     *
+     * @param task 格式化任务
+     * @return true: 内容有变化，需要写入文件; false: 任务已经结束
+     */
+    boolean formatStep(FileTask task) {
+        String filePath = task.filePath;
+        long start = System.nanoTime();
         try {
-            String formatted = formatText(fileContent);
-            Files.asCharSink(sourceFile, MyossConstants.DEFAULT_CHARSET).write(formatted);
+            task.formatted = formatContent(filePath, task.source, task.lineRanges);
+            if (task.source.contentEquals(task.formatted)) {
+                // 内容没有变化，不需要重新写入文件，避免修改文件的更新时间
+                unchangedCount.incrementAndGet();
+                if (formatCache != null && task.lineRanges == null) {
+                    formatCache.update(filePath, task.formatted);
+                }
+                return fileCompleted(task, start, FileFormatStatus.UNCHANGED, null);
+            }
+            task.activeNanos += System.nanoTime() - start;
             return true;
+        } catch (TimeoutException ex) {
+            log.warn("format by eclipse formatter timed out: {}", filePath);
+            task.formatted = task.source;
+            return fileCompleted(task, start, FileFormatStatus.TIMED_OUT, ex);
+        } catch (CancellationException ex) {
+            log.debug("format cancelled: {}", filePath);
+            task.formatted = task.source;
+            return fileCompleted(task, start, FileFormatStatus.CANCELLED, null);
         } catch (Exception ex) {
             log.error("format by eclipse formatter failed: " + filePath, ex);
-            return false;
+            task.formatted = task.source;
+            return fileCompleted(task, start, FileFormatStatus.FAILED, ex);
+        } finally {
+            currentFilePath = null;
+        }
+    }
+
+    /**
+     * 格式化文件内容，保留原来的 BOM 和主要使用的换行符：格式化之前去掉 BOM、统一使用 "\n" 换行，格式化之后恢复。
+     * 格式化、检查文件和 {@link #formatTextResult(String, CharSequence)} 都通过这个方法格式化；没有 BOM 和 "\r" 的文件（最常见的情况）直接格式化，不会复制文件内容，
+     * 否则格式化前后各只复制一次
+     *
+     * @param filePath 文件路径，格式化文本时为代码的名称
+     * @param source 文件内容
+     * @param lineRanges 需要格式化的代码行号范围，为 null 时格式化全部代码
+     * @return 格式化之后的内容
+     * @throws Exception 格式化失败，参考 {@link #formatWithinBudget(String, String, List)}
+     */
+    private CharSequence formatContent(String filePath, String source, List<LineRange> lineRanges) throws Exception {
+        boolean bom = (!source.isEmpty() && source.charAt(0) == TextUtils.BOM);
+        if (!bom && source.indexOf('\r') == -1) {
+            return formatWithinBudget(filePath, source, lineRanges);
+        }
+        int start = (bom ? 1 : 0);
+        String lineSeparator = TextUtils.dominantLineSeparator(source);
+        String text = TextUtils
+                .convertLineSeparators(source, start, ImportsUtils.N, new StringBuilder(source.length() - start))
+                .toString();
+        CharSequence formatted = formatWithinBudget(filePath, text, lineRanges);
+        StringBuilder result = new StringBuilder(formatted.length() + formatted.length() / 32 + start);
+        if (bom) {
+            result.append(TextUtils.BOM);
         }
+        return TextUtils.convertLineSeparators(formatted, 0, lineSeparator, result);
+    }
+
+    /**
+     * 写入格式化之后的内容，线程安全，可以在 I/O 线程中执行
+     *
+     * @param task 格式化任务
+     */
+    void writeStep(FileTask task) {
+        String filePath = task.filePath;
+        long start = System.nanoTime();
+        try {
+            fileWriter.write(Paths.get(filePath), task.formatted, charset);
+            phaseCompleted(formatListener, filePath, FormatPhase.WRITE, start, task.formatted.length());
+            changedCount.incrementAndGet();
+            if (formatCache != null && task.lineRanges == null) {
+                formatCache.update(filePath, task.formatted);
+            }
+            fileCompleted(task, start, FileFormatStatus.CHANGED, null);
+        } catch (Exception ex) {
+            log.error("format by eclipse formatter failed: " + filePath, ex);
+            task.formatted = task.source;
+            fileCompleted(task, start, FileFormatStatus.FAILED, ex);
+        }
+    }
+
+    /**
+     * 格式化 Java 代码；有格式化时间限制或者取消标记时，在后台线程中使用 {@link #copy()}
+     * 出来的副本格式化，当前线程等待结果，超时或者取消时放弃这个副本
+     *
+     * @param filePath 文件路径
+     * @param source 文件内容
+     * @param lineRanges 需要格式化的代码行号范围，为 null 时格式化全部代码
+     * @return 格式化之后的内容
+     * @throws TimeoutException 格式化超时
+     * @throws CancellationException 格式化任务被取消
+     * @throws Exception 格式化失败
+     */
+    private CharSequence formatWithinBudget(String filePath, String source, List<LineRange> lineRanges)
+            throws Exception {
+        long timeoutNanos = fileTimeoutNanos;
+        CancellationToken token = cancellationToken;
+        if (timeoutNanos <= 0 && token == null) {
+            currentFilePath = filePath;
+            return formatSource(source, lineRanges);
+        }
+        if (deadlineWorker == null) {
+            deadlineWorker = copy();
+        }
+        JavaCodeFormatter worker = deadlineWorker;
+        DeadlineTask<CharSequence> future = DeadlineTask.start(filePath, () -> {
+            worker.currentFilePath = filePath;
+            try {
+                return worker.formatSource(source, lineRanges);
+            } finally {
+                worker.currentFilePath = null;
+            }
+        });
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                if (token != null && token.isCancelled()) {
+                    throw new CancellationException("format cancelled: " + filePath);
+                }
+                long remaining = (timeoutNanos > 0 ? timeoutNanos - (System.nanoTime() - start) : POLL_NANOS);
+                if (remaining <= 0) {
+                    throw new TimeoutException(
+                            "format timed out after " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+                }
+                try {
+                    return future.get(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    // 继续等待，同时检查是否已经取消
+                }
+            }
+        } catch (TimeoutException | CancellationException ex) {
+            abandon(future);
+            throw ex;
+        } catch (InterruptedException ex) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("format interrupted: " + filePath);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw new BizRuntimeException("format failed: " + filePath, ex.getCause());
+        }
+    }
+
+    /**
+     * 子类重写了 formatText 方法时通过它格式化，保证文件、文件夹的格式化也会使用子类的逻辑；否则直接调用
+     * {@link #format(String, List)}，避免复制文件内容
+     *
+     * @param source 文件内容
+     * @param lineRanges 需要格式化的代码行号范围，为 null 时格式化全部代码
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     */
+    private CharSequence formatSource(String source, List<LineRange> lineRanges) throws BadLocationException {
+        if (lineRanges == null && OverrideDetector.FORMAT_TEXT.get(getClass())) {
+            return formatText(new StringBuilder(source));
+        }
+        if (lineRanges != null && OverrideDetector.FORMAT_TEXT_RANGES.get(getClass())) {
+            return formatText(new StringBuilder(source), lineRanges);
+        }
+        return format(source, lineRanges);
+    }
+
+    private void abandon(DeadlineTask<CharSequence> future) {
+        // eclipse 格式化不响应中断，仍在运行的副本不能再使用，下一个文件使用新的副本
+        future.abandon();
+        deadlineWorker = null;
+    }
+
+    private boolean fileCompleted(FileTask task, long start, FileFormatStatus status, Exception exception) {
+        String source = task.source;
+        CharSequence formatted = task.formatted;
+        long changedLength = (status == FileFormatStatus.CHANGED ? FileFormatResult.changedLength(source, formatted)
+                : 0);
+        return fileCompleted(task, start, status, exception, (source != null ? source.length() : 0),
+                (formatted != null ? formatted.length() : 0), changedLength);
+    }
+
+    /**
+     * 文件格式化结束，设置格式化结果并通知 {@link FormatListener}，是否成功与 {@link FileFormatResult#isSuccess()}
+     * 一致；同时释放任务中的文件内容
+     *
+     * @param task 格式化任务
+     * @param start 当前步骤开始的时间
+     * @param status 格式化状态
+     * @param exception 格式化失败的异常
+     * @param inputLength 格式化之前的字符数
+     * @param outputLength 格式化之后的字符数
+     * @param changedLength 被改写的字符数
+     * @return false，表示任务已经结束
+     */
+    private boolean fileCompleted(FileTask task, long start, FileFormatStatus status, Exception exception,
+                                  long inputLength, long outputLength, long changedLength) {
+        long duration = task.activeNanos + System.nanoTime() - start;
+        task.result = new FileFormatResult(task.filePath, status, duration, inputLength, outputLength, changedLength,
+                exception);
+        // 任务结束之后只保留格式化结果，格式化文件夹时不会把所有文件的内容都留在内存中
+        task.source = null;
+        task.formatted = null;
+        FormatListener listener = formatListener;
+        if (listener != null) {
+            listener.fileCompleted(task.filePath, duration, inputLength, task.result.isSuccess());
+        }
+        return false;
     }
 
     /**
@@ -199,33 +1027,261 @@ public class JavaCodeFormatter {
      * @return true: 格式化成功; false: 格式化失败
      */
     public List<String> formatDirectory(String directoryPath) {
+        return formatDirectory(directoryPath, 1);
+    }
+
+    /**
+     * 并行格式化 Java 代码，使用 {@link ForkJoinPool} 进行任务窃取调度，每个工作线程使用独立的
+     * {@link DefaultCodeFormatter} 实例，返回的结果与 {@link #formatDirectory(String)} 相同
+     *
+     * @param directoryPath 文件夹路径
+     * @param parallelism 并行线程数，小于等于1时使用当前线程顺序格式化，推荐使用
+     *            {@code Runtime.getRuntime().availableProcessors()}
+     * @return 格式化失败的文件
+     */
+    public List<String> formatDirectory(String directoryPath, int parallelism) {
+        List<String> result = new ArrayList<>();
+        for (FileFormatResult file : formatDirectoryReport(directoryPath, parallelism).failedFiles()) {
+            result.add("格式化失败: " + file.getFilePath().substring(directoryPath.length()));
+        }
+        return result;
+    }
+
+    /**
+     * 格式化文件夹中的 Java 代码，返回每个文件的格式化结果和汇总信息，可以通过
+     * {@link FormatReport#toJson()} 导出
+     *
+     * @param directoryPath 文件夹路径
+     * @param parallelism 并行线程数，小于等于1时使用当前线程顺序格式化
+     * @return 格式化报告，文件的顺序与遍历文件夹的顺序一致
+     */
+    public FormatReport formatDirectoryReport(String directoryPath, int parallelism) {
+        long start = System.nanoTime();
+        List<FileFormatResult> results;
+        if (parallelism <= 1) {
+            results = new ArrayList<>();
+            try {
+                fileSelector.walk(Paths.get(directoryPath),
+                        file -> results.add(formatFileResult(file.toString(), null)));
+            } catch (IOException ex) {
+                throw new BizRuntimeException("read directory: " + directoryPath, ex);
+            }
+        } else {
+            results = formatFilesResult(listJavaFiles(directoryPath), parallelism);
+        }
+        fileWriter.flush();
+        FormatReport report = new FormatReport(directoryPath, System.nanoTime() - start, results);
+        log.info("{}", report);
+        return report;
+    }
+
+    /**
+     * 流水线方式格式化文件夹中的 Java 代码，读取、格式化、写入文件在不同的线程中执行，通过有界队列连接，适合 I/O
+     * 延迟较高的场景；需要指定各个阶段的线程数时使用 {@link FormatPipeline}
+     *
+     * @param directoryPath 文件夹路径
+     * @return 格式化报告，文件的顺序与遍历文件夹的顺序一致
+     * @see FormatPipeline#FormatPipeline(JavaCodeFormatter)
+     */
+    public FormatReport formatDirectoryPipelined(String directoryPath) {
+        return new FormatPipeline(this).formatDirectory(directoryPath);
+    }
+
+    /**
+     * 只格式化 git 仓库中有变化的 Java 文件：相对于 ref 修改过的文件（包括已经提交、已经暂存和没有暂存的修改）以及新文件，
+     * 耗时只与变化的文件数量有关
+     *
+     * @param directoryPath git 仓库中的文件夹，只格式化这个文件夹中的文件
+     * @param ref 比较的分支、标签或者提交，比如：origin/master，与当前提交的共同祖先比较；为 null
+     *            时只格式化还没有提交的修改
+     * @param parallelism 并行线程数，小于等于1时使用当前线程顺序格式化
+     * @return 格式化报告，文件的顺序与 git 输出的顺序一致
+     * @see GitUtils#changedFiles(Path, String)
+     */
+    public FormatReport formatChangedFiles(String directoryPath, String ref, int parallelism) {
+        long start = System.nanoTime();
+        Path directory = Paths.get(directoryPath);
+        List<Path> files = new ArrayList<>();
+        for (Path file : GitUtils.changedFiles(directory, ref)) {
+            if (fileSelector.isSelected(directory, file)) {
+                files.add(file);
+            }
+        }
+        List<FileFormatResult> results = formatFilesResult(files, parallelism);
+        FormatReport report = new FormatReport(directoryPath, System.nanoTime() - start, results);
+        log.info("{}", report);
+        return report;
+    }
+
+    /**
+     * 格式化多个 Java 文件，使用 {@link ForkJoinPool} 并行格式化，每个工作线程复用同一个 {@link #copy()}
+     * 副本；单个文件格式化失败不影响其它文件，失败信息记录在对应的结果中，写入完成之后调用 {@link AtomicFileWriter#flush()}
+     *
+     * @param files Java 文件
+     * @param parallelism 并行线程数，小于等于1时使用当前线程顺序格式化
+     * @return 每个文件的格式化结果，顺序与 files 的顺序一致
+     */
+    public List<FileFormatResult> formatFilesResult(List<Path> files, int parallelism) {
+        List<FileFormatResult> results = processFiles("format files", files, parallelism,
+                (formatter, filePath) -> formatter.formatFileResult(filePath, null));
+        fileWriter.flush();
+        return results;
+    }
+
+    /**
+     * 检查多个 Java 文件是否已经格式化，不会修改文件，并行方式与 {@link #formatFilesResult(List, int)} 相同
+     *
+     * @param files Java 文件
+     * @param parallelism 并行线程数，小于等于1时使用当前线程顺序检查
+     * @return 每个文件的检查结果，顺序与 files 的顺序一致
+     * @see #checkFileResult(String)
+     */
+    public List<FileFormatResult> checkFilesResult(List<Path> files, int parallelism) {
+        return processFiles("check files", files, parallelism, JavaCodeFormatter::checkFileResult);
+    }
+
+    private List<FileFormatResult> processFiles(String description, List<Path> files, int parallelism,
+                                                BiFunction<JavaCodeFormatter, String, FileFormatResult> action) {
+        FileFormatResult[] results = new FileFormatResult[files.size()];
+        if (parallelism <= 1 || files.size() <= 1) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = action.apply(this, files.get(i).toString());
+            }
+        } else {
+            forEachInParallel(description, files.size(), parallelism,
+                    (formatter, i) -> results[i] = action.apply(formatter, files.get(i).toString()));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 使用 {@link ForkJoinPool} 并行执行任务，每个工作线程使用独立的 {@link #copy()} 副本
+     *
+     * @param description 任务描述，用于异常信息
+     * @param size 任务数量
+     * @param parallelism 并行线程数
+     * @param action 执行的任务，参数为当前线程的格式化工具和任务序号
+     */
+    private void forEachInParallel(String description, int size, int parallelism,
+                                   ObjIntConsumer<JavaCodeFormatter> action) {
+        ThreadLocal<JavaCodeFormatter> formatters = ThreadLocal.withInitial(this::copy);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
         try {
-            List<String> result = new ArrayList<>();
-            java.nio.file.Files.walkFileTree(Paths.get(directoryPath), new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    String filePath = file.toString();
-                    if (!filePath.endsWith(".java")) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                    boolean isFormat = formatFile(filePath);
-                    if (!isFormat) {
-                        result.add("格式化失败: " + filePath.substring(directoryPath.length()));
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
-            });
-            return result;
-        } catch (IOException ex) {
-            throw new BizRuntimeException("read directory: " + directoryPath, ex);
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> action.accept(formatters.get(), i)))
+                    .get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BizRuntimeException(description + " interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new BizRuntimeException(description, ex.getCause());
+        } finally {
+            pool.shutdown();
         }
     }
 
+    /**
+     * 根据 unified diff 格式化 Java 代码，只格式化修改过的代码行和 import 代码块，比如用于 git pre-commit
+     * hook：{@code git diff -U0 --cached}
+     *
+     * @param baseDirectory diff 中文件路径的根目录
+     * @param unifiedDiff unified diff 内容
+     * @return 格式化失败的文件
+     */
+    public List<String> formatDiff(String baseDirectory, String unifiedDiff) {
+        List<String> result = new ArrayList<>();
+        for (Entry<String, List<LineRange>> entry : DiffUtils.parseChangedLines(unifiedDiff).entrySet()) {
+            if (!entry.getKey().endsWith(".java")) {
+                continue;
+            }
+            String filePath = Paths.get(baseDirectory, entry.getKey()).toString();
+            if (!formatFile(filePath, entry.getValue())) {
+                result.add("格式化失败: " + entry.getKey());
+            }
+        }
+        fileWriter.flush();
+        return result;
+    }
+
+    /**
+     * 通过 {@link JavaFileSelector} 查找文件夹中需要格式化的 Java 文件，顺序与
+     * {@link #formatDirectory(String)} 遍历的顺序一致
+     *
+     * @param directoryPath 文件夹路径
+     * @return Java 文件
+     */
+    protected List<Path> listJavaFiles(String directoryPath) {
+        return fileSelector.select(Paths.get(directoryPath));
+    }
+
     private Map<String, String> toMap(Properties properties) {
         Map<String, String> options = new HashMap<>();
         for (final String name : properties.stringPropertyNames()) {
             options.put(name, properties.getProperty(name));
         }
-        return options;
+        return Collections.unmodifiableMap(options);
+    }
+
+    /**
+     * import 排序之后的内容和 import 代码块位置
+     */
+    private static class ImportBlock {
+        private final String text;
+        private final int    start;
+        private final int    end;
+        private final int    oldLines;
+        private final int    newLines;
+
+        ImportBlock(String text, int start, int end, int oldLines, int newLines) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.oldLines = oldLines;
+            this.newLines = newLines;
+        }
+
+        /**
+         * 将 import 排序之前的行号转换为排序之后的行号
+         *
+         * @param firstLine import 代码块的第一行
+         * @param line import 排序之前的行号
+         * @return import 排序之后的行号
+         */
+        int mapLine(int firstLine, int line) {
+            if (line > firstLine + oldLines) {
+                return line + newLines - oldLines;
+            }
+            return Math.min(line, firstLine + newLines);
+        }
+    }
+
+    /**
+     * 检查子类是否重写了 {@link JavaCodeFormatter} 中指定参数的 formatText 方法，每个类只检查一次
+     */
+    private static final class OverrideDetector extends ClassValue<Boolean> {
+        /**
+         * 子类是否重写了 {@link JavaCodeFormatter#formatText(StringBuilder)}
+         */
+        static final OverrideDetector FORMAT_TEXT        = new OverrideDetector(StringBuilder.class);
+        /**
+         * 子类是否重写了 {@link JavaCodeFormatter#formatText(StringBuilder, List)}
+         */
+        static final OverrideDetector FORMAT_TEXT_RANGES = new OverrideDetector(StringBuilder.class, List.class);
+        private final Class<?>[]      parameterTypes;
+
+        private OverrideDetector(Class<?>... parameterTypes) {
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("formatText", parameterTypes).getDeclaringClass() != JavaCodeFormatter.class;
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
     }
 }
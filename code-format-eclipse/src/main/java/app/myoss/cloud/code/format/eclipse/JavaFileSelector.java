@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * 选择文件夹中需要格式化的 Java 文件，支持 include/exclude glob 规则和 .gitignore 规则。被排除的文件夹在
+ * {@link java.nio.file.FileVisitor#preVisitDirectory(Object, BasicFileAttributes)}
+ * 中直接跳过，不会再遍历其中的文件。
+ * <p>
+ * glob 规则匹配相对于遍历根目录的路径，语法与
+ * {@link java.nio.file.FileSystem#getPathMatcher(String)} 相同；以
+ * {@code **}{@code /} 开头的规则也匹配根目录下的文件，以 {@code /**} 结尾的规则也匹配文件夹本身，比如
+ * {@code **}{@code /target/**} 会跳过所有的 target 文件夹
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午3:31:44
+ */
+public class JavaFileSelector {
+    /**
+     * 默认包含的文件
+     */
+    public static final List<String> DEFAULT_INCLUDES = Collections.singletonList("**/*.java");
+    /**
+     * 常见的构建输出、依赖和生成代码的文件夹，需要排除时通过
+     * {@link #JavaFileSelector(List, List, boolean)} 指定
+     */
+    public static final List<String> DEFAULT_EXCLUDES = Collections
+            .unmodifiableList(Arrays.asList("**/.git/**", "**/target/**", "**/build/**", "**/node_modules/**",
+                    "**/generated-sources/**", "**/generated-test-sources/**"));
+    private static final String      GIT_IGNORE       = ".gitignore";
+    private final List<PathMatcher>  includes;
+    private final List<PathMatcher>  excludes;
+    private final boolean            gitIgnore;
+
+    /**
+     * 选择文件夹中所有的 Java 文件
+     */
+    public JavaFileSelector() {
+        this(DEFAULT_INCLUDES, Collections.emptyList(), false);
+    }
+
+    /**
+     * 选择文件夹中需要格式化的 Java 文件
+     *
+     * @param includes 包含的文件，比如：{@link #DEFAULT_INCLUDES}
+     * @param excludes 排除的文件和文件夹，比如：{@link #DEFAULT_EXCLUDES}
+     * @param gitIgnore 是否遵守遍历过程中遇到的 .gitignore 文件，同时跳过 .git 文件夹
+     */
+    public JavaFileSelector(List<String> includes, List<String> excludes, boolean gitIgnore) {
+        this.includes = new ArrayList<>();
+        for (String include : includes) {
+            this.includes.addAll(globMatchers(include));
+        }
+        this.excludes = new ArrayList<>();
+        for (String exclude : excludes) {
+            this.excludes.addAll(globMatchers(exclude));
+        }
+        this.gitIgnore = gitIgnore;
+    }
+
+    /**
+     * 查找文件夹中需要格式化的 Java 文件
+     *
+     * @param root 文件夹路径
+     * @return Java 文件，顺序与遍历文件夹的顺序一致
+     */
+    public List<Path> select(Path root) {
+        List<Path> result = new ArrayList<>();
+        try {
+            walk(root, result::add);
+        } catch (IOException ex) {
+            throw new BizRuntimeException("read directory: " + root, ex);
+        }
+        return result;
+    }
+
+    /**
+     * 遍历文件夹中需要格式化的 Java 文件
+     *
+     * @param root 文件夹路径
+     * @param consumer 处理遍历到的文件
+     * @throws IOException 读取文件夹失败，或者 consumer 抛出的异常
+     */
+    public void walk(Path root, FileConsumer consumer) throws IOException {
+        Deque<IgnoreRules> ignoreRules = new ArrayDeque<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root)) {
+                    if (matches(excludes, root.relativize(dir))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (gitIgnore
+                            && (".git".equals(dir.getFileName().toString()) || isIgnored(ignoreRules, dir, true))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                }
+                if (gitIgnore) {
+                    ignoreRules.push(IgnoreRules.load(dir));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path relative = root.relativize(file);
+                if (matches(includes, relative) && !matches(excludes, relative)
+                        && !(gitIgnore && isIgnored(ignoreRules, file, false))) {
+                    consumer.accept(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (gitIgnore) {
+                    ignoreRules.pop();
+                }
+                if (exc != null) {
+                    throw exc;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * 判断文件是否符合 include/exclude 规则，文件所在的文件夹被排除时也不符合；不检查 .gitignore 规则
+     *
+     * @param root 根目录，规则匹配相对于根目录的路径
+     * @param file 文件路径
+     * @return true: 需要格式化
+     */
+    public boolean isSelected(Path root, Path file) {
+        Path relative = root.relativize(file);
+        for (int i = 1; i < relative.getNameCount(); i++) {
+            if (matches(excludes, relative.subpath(0, i))) {
+                return false;
+            }
+        }
+        return matches(includes, relative) && !matches(excludes, relative);
+    }
+
+    private static boolean matches(List<PathMatcher> matchers, Path relative) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照 git 的规则判断文件是否被忽略：从根目录到当前目录的 .gitignore 依次匹配，后匹配的规则优先
+     */
+    private static boolean isIgnored(Deque<IgnoreRules> ignoreRules, Path path, boolean directory) {
+        boolean ignored = false;
+        for (Iterator<IgnoreRules> iterator = ignoreRules.descendingIterator(); iterator.hasNext();) {
+            IgnoreRules rules = iterator.next();
+            if (rules.rules.isEmpty()) {
+                continue;
+            }
+            Path relative = rules.directory.relativize(path);
+            for (IgnoreRule rule : rules.rules) {
+                if ((directory || !rule.directoryOnly) && matches(rule.matchers, relative)) {
+                    ignored = !rule.negate;
+                }
+            }
+        }
+        return ignored;
+    }
+
+    /**
+     * 把 glob 规则转换为 {@link PathMatcher}，{@code **}{@code /} 开头、{@code /**}
+     * 结尾和中间的 {@code /**}{@code /} 都可以匹配0层文件夹
+     */
+    private static List<PathMatcher> globMatchers(String pattern) {
+        List<String> variants = new ArrayList<>();
+        variants.add(pattern);
+        if (pattern.startsWith("**/")) {
+            variants.add(pattern.substring(3));
+        }
+        if (pattern.endsWith("/**")) {
+            variants.add(pattern.substring(0, pattern.length() - 3));
+        }
+        if (pattern.contains("/**/")) {
+            variants.add(pattern.replace("/**/", "/"));
+        }
+        List<PathMatcher> matchers = new ArrayList<>(variants.size());
+        for (String variant : variants) {
+            if (!variant.isEmpty()) {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + variant));
+            }
+        }
+        return matchers;
+    }
+
+    /**
+     * 处理遍历到的文件
+     */
+    @FunctionalInterface
+    public interface FileConsumer {
+        /**
+         * 处理遍历到的文件
+         *
+         * @param file 文件路径
+         * @throws IOException 处理失败
+         */
+        void accept(Path file) throws IOException;
+    }
+
+    /**
+     * 一个文件夹中 .gitignore 文件的规则
+     */
+    private static final class IgnoreRules {
+        private final Path             directory;
+        private final List<IgnoreRule> rules;
+
+        private IgnoreRules(Path directory, List<IgnoreRule> rules) {
+            this.directory = directory;
+            this.rules = rules;
+        }
+
+        private static IgnoreRules load(Path directory) throws IOException {
+            Path file = directory.resolve(GIT_IGNORE);
+            if (!Files.isRegularFile(file)) {
+                return new IgnoreRules(directory, Collections.emptyList());
+            }
+            List<IgnoreRule> rules = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                IgnoreRule rule = IgnoreRule.parse(line);
+                if (rule != null) {
+                    rules.add(rule);
+                }
+            }
+            return new IgnoreRules(directory, rules);
+        }
+    }
+
+    /**
+     * .gitignore 中的一条规则
+     */
+    private static final class IgnoreRule {
+        private final List<PathMatcher> matchers;
+        private final boolean           negate;
+        private final boolean           directoryOnly;
+
+        private IgnoreRule(List<PathMatcher> matchers, boolean negate, boolean directoryOnly) {
+            this.matchers = matchers;
+            this.negate = negate;
+            this.directoryOnly = directoryOnly;
+        }
+
+        private static IgnoreRule parse(String line) {
+            String pattern = line.replaceAll("\\s+$", "");
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                return null;
+            }
+            boolean negate = pattern.startsWith("!");
+            if (negate) {
+                pattern = pattern.substring(1);
+            } else if (pattern.startsWith("\\#") || pattern.startsWith("\\!")) {
+                pattern = pattern.substring(1);
+            }
+            boolean directoryOnly = pattern.endsWith("/");
+            if (directoryOnly) {
+                pattern = pattern.substring(0, pattern.length() - 1);
+            }
+            if (pattern.startsWith("/")) {
+                pattern = pattern.substring(1);
+            } else if (!pattern.contains("/")) {
+                // 不包含 "/" 的规则匹配任意层级的文件名
+                pattern = "**/" + pattern;
+            }
+            if (pattern.isEmpty()) {
+                return null;
+            }
+            pattern = pattern.replace("{", "\\{").replace("}", "\\}");
+            return new IgnoreRule(globMatchers(pattern), negate, directoryOnly);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 代码行号范围，用于只格式化部分代码，行号从1开始，包含开始行和结束行
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:40:26
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class LineRange {
+    /**
+     * 开始行号（包含）
+     */
+    private final int startLine;
+    /**
+     * 结束行号（包含）
+     */
+    private final int endLine;
+
+    /**
+     * 代码行号范围
+     *
+     * @param startLine 开始行号（包含），从1开始
+     * @param endLine 结束行号（包含）
+     */
+    public LineRange(int startLine, int endLine) {
+        if (startLine < 1 || endLine < startLine) {
+            throw new IllegalArgumentException("invalid line range: " + startLine + "-" + endLine);
+        }
+        this.startLine = startLine;
+        this.endLine = endLine;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.eclipse.jface.text.BadLocationException;
+
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.report.TextFormatResult;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * 线程安全的Java代码格式化工具，内部使用有界的 {@link JavaCodeFormatter}
+ * 对象池，多个线程可以共享同一个实例，不需要每次调用都重新创建格式化工具
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午9:30:12
+ */
+public class PooledJavaCodeFormatter {
+    private final JavaCodeFormatter                prototype;
+    private final int                              maxSize;
+    private final long                             borrowTimeoutMillis;
+    private final BlockingQueue<JavaCodeFormatter> idleFormatters;
+    private final AtomicInteger                    createdSize        = new AtomicInteger();
+    private final AtomicInteger                    activeSize         = new AtomicInteger();
+    private final AtomicLong                       borrowCount        = new AtomicLong();
+    private final AtomicLong                       borrowTimeoutCount = new AtomicLong();
+
+    /**
+     * 线程安全的Java代码格式化工具
+     *
+     * @param prototype 原型，对象池中的实例都是通过 {@link JavaCodeFormatter#copy()} 创建
+     * @param maxSize 对象池最大的实例数量
+     * @param borrowTimeout 从对象池中获取实例的最大等待时间
+     * @param unit 等待时间的单位
+     */
+    public PooledJavaCodeFormatter(JavaCodeFormatter prototype, int maxSize, long borrowTimeout, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.prototype = prototype;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = unit.toMillis(borrowTimeout);
+        this.idleFormatters = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * 线程安全的Java代码格式化工具，对象池最大的实例数量为 CPU 核数，最大等待时间为30秒
+     *
+     * @param prototype 原型，对象池中的实例都是通过 {@link JavaCodeFormatter#copy()} 创建
+     */
+    public PooledJavaCodeFormatter(JavaCodeFormatter prototype) {
+        this(prototype, Runtime.getRuntime().availableProcessors(), 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 格式化 Java 代码
+     *
+     * @param fileContent 文件内容
+     * @return 格式化之后的内容
+     * @throws BadLocationException 异常信息
+     * @see JavaCodeFormatter#formatText(StringBuilder)
+     */
+    public String formatText(StringBuilder fileContent) throws BadLocationException {
+        JavaCodeFormatter formatter = borrow();
+        try {
+            return formatter.formatText(fileContent);
+        } finally {
+            release(formatter);
+        }
+    }
+
+    /**
+     * 格式化 Java 代码
+     *
+     * @param filePath 文件路径
+     * @return true: 格式化成功; false: 格式化失败
+     * @see JavaCodeFormatter#formatFile(String)
+     */
+    public boolean formatFile(String filePath) {
+        JavaCodeFormatter formatter = borrow();
+        try {
+            return formatter.formatFile(filePath);
+        } finally {
+            release(formatter);
+        }
+    }
+
+    /**
+     * 格式化 Java 文件，返回格式化结果
+     *
+     * @param filePath 文件路径
+     * @return 格式化结果
+     * @see JavaCodeFormatter#formatFileResult(String, List)
+     */
+    public FileFormatResult formatFileResult(String filePath) {
+        JavaCodeFormatter formatter = borrow();
+        try {
+            return formatter.formatFileResult(filePath, null);
+        } finally {
+            release(formatter);
+        }
+    }
+
+    /**
+     * 检查 Java 文件是否已经格式化，不会修改文件
+     *
+     * @param filePath 文件路径
+     * @return 检查结果
+     * @see JavaCodeFormatter#checkFileResult(String)
+     */
+    public FileFormatResult checkFileResult(String filePath) {
+        JavaCodeFormatter formatter = borrow();
+        try {
+            return formatter.checkFileResult(filePath);
+        } finally {
+            release(formatter);
+        }
+    }
+
+    /**
+     * 格式化 Java 代码，返回格式化结果，格式化失败时不会抛出异常
+     *
+     * @param name 代码的名称，比如类名，可以为 null
+     * @param source 代码内容
+     * @return 格式化结果
+     * @see JavaCodeFormatter#formatTextResult(String, CharSequence)
+     */
+    public TextFormatResult formatTextResult(String name, CharSequence source) {
+        JavaCodeFormatter formatter = borrow();
+        try {
+            return formatter.formatTextResult(name, source);
+        } finally {
+            release(formatter);
+        }
+    }
+
+    /**
+     * 在指定的线程池中异步格式化 Java 代码，格式化失败（包括从对象池中获取实例超时）时返回失败的结果，不会异常结束
+     *
+     * @param name 代码的名称，比如类名，可以为 null
+     * @param source 代码内容
+     * @param executor 执行格式化的线程池
+     * @return 格式化结果
+     * @see JavaCodeFormatter#formatTextResult(String, CharSequence)
+     */
+    public CompletableFuture<TextFormatResult> formatTextAsync(String name, CharSequence source, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            JavaCodeFormatter formatter;
+            try {
+                formatter = borrow();
+            } catch (BizRuntimeException ex) {
+                return new TextFormatResult(name, FileFormatStatus.FAILED, 0, source.length(), source.toString(), ex);
+            }
+            try {
+                return formatter.formatTextResult(name, source);
+            } finally {
+                release(formatter);
+            }
+        }, executor);
+    }
+
+    /**
+     * 在指定的线程池中异步格式化 Java 文件，格式化失败（包括从对象池中获取实例超时）时返回失败的结果，不会异常结束
+     *
+     * @param filePath 文件路径
+     * @param executor 执行格式化的线程池
+     * @return 格式化结果
+     * @see JavaCodeFormatter#formatFileResult(String, List)
+     */
+    public CompletableFuture<FileFormatResult> formatFileAsync(String filePath, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            JavaCodeFormatter formatter;
+            try {
+                formatter = borrow();
+            } catch (BizRuntimeException ex) {
+                return new FileFormatResult(filePath, FileFormatStatus.FAILED, 0, 0, 0, 0, ex);
+            }
+            try {
+                return formatter.formatFileResult(filePath, null);
+            } finally {
+                release(formatter);
+            }
+        }, executor);
+    }
+
+    /**
+     * 在指定的线程池中异步格式化多个 Java 文件，所有文件都格式化完成之后结束
+     *
+     * @param filePaths 文件路径
+     * @param executor 执行格式化的线程池
+     * @return 格式化结果，顺序与文件路径的顺序一致
+     */
+    public CompletableFuture<List<FileFormatResult>> formatFilesAsync(List<String> filePaths, Executor executor) {
+        List<CompletableFuture<FileFormatResult>> futures = new ArrayList<>(filePaths.size());
+        for (String filePath : filePaths) {
+            futures.add(formatFileAsync(filePath, executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    /**
+     * 从对象池中获取一个格式化工具，使用完之后必须调用 {@link #release(JavaCodeFormatter)} 归还
+     *
+     * @return Java代码格式化工具
+     */
+    public JavaCodeFormatter borrow() {
+        borrowCount.incrementAndGet();
+        JavaCodeFormatter formatter = idleFormatters.poll();
+        if (formatter == null) {
+            formatter = tryCreate();
+        }
+        if (formatter == null) {
+            try {
+                formatter = idleFormatters.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new BizRuntimeException("borrow formatter interrupted", ex);
+            }
+            if (formatter == null) {
+                borrowTimeoutCount.incrementAndGet();
+                throw new BizRuntimeException(
+                        "borrow formatter timeout after " + borrowTimeoutMillis + "ms, pool size: " + maxSize);
+            }
+        }
+        activeSize.incrementAndGet();
+        return formatter;
+    }
+
+    /**
+     * 归还格式化工具到对象池中
+     *
+     * @param formatter 通过 {@link #borrow()} 获取的格式化工具
+     */
+    public void release(JavaCodeFormatter formatter) {
+        activeSize.decrementAndGet();
+        if (!idleFormatters.offer(formatter)) {
+            throw new IllegalStateException("pool is full, formatter was not borrowed from this pool");
+        }
+    }
+
+    private JavaCodeFormatter tryCreate() {
+        while (true) {
+            int size = createdSize.get();
+            if (size >= maxSize) {
+                return null;
+            }
+            if (createdSize.compareAndSet(size, size + 1)) {
+                try {
+                    return prototype.copy();
+                } catch (RuntimeException | Error ex) {
+                    // 创建失败时释放占用的名额，否则对象池会一直认为已经满了
+                    createdSize.decrementAndGet();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * 对象池中实例的原型
+     *
+     * @return 原型
+     */
+    public JavaCodeFormatter getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * 对象池最大的实例数量
+     *
+     * @return 最大的实例数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 对象池已经创建的实例数量
+     *
+     * @return 已经创建的实例数量
+     */
+    public int getCreatedSize() {
+        return createdSize.get();
+    }
+
+    /**
+     * 对象池中空闲的实例数量
+     *
+     * @return 空闲的实例数量
+     */
+    public int getIdleSize() {
+        return idleFormatters.size();
+    }
+
+    /**
+     * 正在使用中的实例数量
+     *
+     * @return 使用中的实例数量
+     */
+    public int getActiveSize() {
+        return activeSize.get();
+    }
+
+    /**
+     * 累计获取实例的次数
+     *
+     * @return 获取实例的次数
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * 累计获取实例超时的次数
+     *
+     * @return 获取实例超时的次数
+     */
+    public long getBorrowTimeoutCount() {
+        return borrowTimeoutCount.get();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 格式化结果缓存，记录文件路径和格式化之后的内容 hash
+ * 值，如果文件内容的hash值和缓存中的一致，说明文件已经使用相同的格式化规则格式化过了，可以跳过
+ *
+ * <pre>
+ * 缓存文件格式：
+ *  第一行：格式化规则的指纹（格式化规则、import 排序规则、当前工具的版本）
+ *  其它行：文件内容hash值 文件路径
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:25:41
+ */
+@Slf4j
+public class FormatCache {
+    /**
+     * 当前工具的版本
+     */
+    public static final String                  VERSION = getVersion();
+    private final Path                          cacheFile;
+    private final String                        fingerprint;
+    private final ConcurrentMap<String, String> entries;
+
+    protected FormatCache(Path cacheFile, String fingerprint, Map<String, String> entries) {
+        this.cacheFile = cacheFile;
+        this.fingerprint = fingerprint;
+        this.entries = new ConcurrentHashMap<>(entries);
+    }
+
+    /**
+     * 加载缓存文件，如果缓存文件不存在或者格式化规则的指纹不一致，返回空的缓存
+     *
+     * @param cacheFile 缓存文件路径
+     * @param fingerprint 格式化规则的指纹，参考
+     *            {@link #fingerprint(Map, ImportsSorter)}
+     * @return 格式化结果缓存
+     */
+    public static FormatCache load(Path cacheFile, String fingerprint) {
+        return new FormatCache(cacheFile, fingerprint, readEntries(cacheFile, fingerprint));
+    }
+
+    /**
+     * 计算格式化规则的指纹
+     *
+     * @param formatterOptions EclipseCodeFormatter 格式化规则
+     * @param importsSorter Java import代码格式化工具
+     * @return 格式化规则的指纹
+     */
+    public static String fingerprint(Map<String, String> formatterOptions, ImportsSorter importsSorter) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Entry<String, String> entry : new TreeMap<>(formatterOptions).entrySet()) {
+            hasher.putString(entry.getKey(), StandardCharsets.UTF_8)
+                    .putChar('=')
+                    .putString(entry.getValue(), StandardCharsets.UTF_8)
+                    .putChar('\n');
+        }
+        hasher.putString(importsSorter.getClass().getName(), StandardCharsets.UTF_8).putChar('\n');
+        for (String item : importsSorter.getImportOrder()) {
+            hasher.putString(item, StandardCharsets.UTF_8).putChar('\n');
+        }
+        hasher.putString(VERSION, StandardCharsets.UTF_8);
+        return hasher.hash().toString();
+    }
+
+    /**
+     * 计算文件内容的hash值
+     *
+     * @param content 文件内容
+     * @return hash值
+     */
+    public static String hash(CharSequence content) {
+        return Hashing.murmur3_128().hashString(content, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * 判断文件是否已经格式化过了
+     *
+     * @param filePath 文件路径
+     * @param content 文件内容
+     * @return true: 已经格式化过了; false: 需要格式化
+     */
+    public boolean isFormatted(String filePath, CharSequence content) {
+        String cached = entries.get(normalize(filePath));
+        return cached != null && cached.equals(hash(content));
+    }
+
+    /**
+     * 记录文件格式化之后的内容
+     *
+     * @param filePath 文件路径
+     * @param formatted 格式化之后的内容
+     */
+    public void update(String filePath, CharSequence formatted) {
+        entries.put(normalize(filePath), hash(formatted));
+    }
+
+    /**
+     * 缓存的文件数量
+     *
+     * @return 文件数量
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取格式化规则的指纹
+     *
+     * @return 格式化规则的指纹
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 保存缓存文件；保存时会加上文件锁，合并其它进程同时写入的记录，并移除已经被删除的文件，最后通过原子重命名替换缓存文件
+     */
+    public void save() {
+        Path lockFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".lock");
+        synchronized (FormatCache.class) {
+            try {
+                if (cacheFile.getParent() != null) {
+                    Files.createDirectories(cacheFile.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+                    Map<String, String> merged = readEntries(cacheFile, fingerprint);
+                    merged.putAll(entries);
+                    merged.keySet().removeIf(path -> !Files.exists(Paths.get(path)));
+                    Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+                    try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                        writer.write(fingerprint);
+                        writer.write('\n');
+                        for (Entry<String, String> entry : merged.entrySet()) {
+                            writer.write(entry.getValue());
+                            writer.write(' ');
+                            writer.write(entry.getKey());
+                            writer.write('\n');
+                        }
+                    }
+                    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                    log.debug("saved format cache: {}, size: {}", cacheFile, merged.size());
+                }
+            } catch (IOException ex) {
+                throw new BizRuntimeException("save format cache: " + cacheFile, ex);
+            }
+        }
+    }
+
+    private static Map<String, String> readEntries(Path cacheFile, String fingerprint) {
+        Map<String, String> result = new TreeMap<>();
+        if (!Files.isRegularFile(cacheFile)) {
+            return result;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            if (!fingerprint.equals(reader.readLine())) {
+                log.info("format config changed, ignore format cache: {}", cacheFile);
+                return result;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int index = line.indexOf(' ');
+                if (index > 0) {
+                    result.put(line.substring(index + 1), line.substring(0, index));
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("read format cache failed, ignore it: " + cacheFile, ex);
+            result.clear();
+        }
+        return result;
+    }
+
+    private static String normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize().toString();
+    }
+
+    private static String getVersion() {
+        String version = FormatCache.class.getPackage().getImplementationVersion();
+        return (version != null ? version : "unknown");
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.utils.FileUtils;
+import app.myoss.cloud.code.format.eclipse.utils.GitUtils;
+import app.myoss.cloud.core.constants.MyossConstants;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * 批量格式化 Java 文件的命令行工具，在一个 JVM 中格式化所有文件，适用于 git hook 等已经知道需要格式化哪些文件的场景
+ *
+ * <pre>
+ * 用法：[选项] [文件...]
+ *  --files-from 文件     从文件中读取需要格式化的文件路径，"-" 表示标准输入；没有指定文件时默认从标准输入读取
+ *  -0, --null          文件路径使用 NUL 字符分隔（比如：git diff --name-only -z），默认使用换行符分隔
+ *  --changed           格式化当前文件夹中还没有提交的修改和新文件（通过本地的 git 命令查找）
+ *  --changed-since ref 格式化当前文件夹中相对于 ref（比如：origin/master）有变化的文件，包括还没有提交的修改和新文件
+ *  --parallelism 数量   并行线程数，默认为 CPU 核数
+ *  --check             只检查文件是否已经格式化，不会修改文件
+ *  --config 文件        EclipseCodeFormatter 格式化规则文件，默认使用内置的格式化规则
+ *  --profile 名称       格式化规则文件中的 profile，默认：Default
+ * 不是 .java 结尾或者不存在的文件会被忽略
+ * 退出码：
+ *  0: 成功
+ *  1: --check 发现有文件没有格式化
+ *  2: 有文件格式化失败，或者参数错误
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午8:40:26
+ */
+public class FormatCli {
+    /**
+     * 成功
+     */
+    public static final int    EXIT_OK            = 0;
+    /**
+     * 有文件没有格式化
+     */
+    public static final int    EXIT_NOT_FORMATTED = 1;
+    /**
+     * 有文件格式化失败，或者参数错误
+     */
+    public static final int    EXIT_ERROR         = 2;
+    private final List<String> paths              = new ArrayList<>();
+    private String             filesFrom;
+    private boolean            nullSeparated;
+    private boolean            changed;
+    private String             changedSince;
+    private int                parallelism        = Runtime.getRuntime().availableProcessors();
+    private boolean            check;
+    private String             config;
+    private String             profile            = "Default";
+
+    /**
+     * 命令行入口
+     *
+     * @param args 启动参数
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.err));
+    }
+
+    /**
+     * 执行命令
+     *
+     * @param args 启动参数
+     * @param in 标准输入
+     * @param err 错误输出
+     * @return 退出码
+     */
+    public static int run(String[] args, InputStream in, PrintStream err) {
+        FormatCli cli = new FormatCli();
+        try {
+            cli.parse(args);
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            return EXIT_ERROR;
+        }
+        List<Path> files;
+        try {
+            files = cli.readFiles(in, err);
+        } catch (IOException ex) {
+            err.println("read file list failed: " + ex);
+            return EXIT_ERROR;
+        } catch (BizRuntimeException ex) {
+            err.println("read changed files failed: " + ex.getMessage());
+            return EXIT_ERROR;
+        }
+        return cli.execute(files, err);
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--files-from":
+                    filesFrom = value(args, ++i, arg);
+                    break;
+                case "-0":
+                case "--null":
+                    nullSeparated = true;
+                    break;
+                case "--changed":
+                    changed = true;
+                    break;
+                case "--changed-since":
+                    changed = true;
+                    changedSince = value(args, ++i, arg);
+                    break;
+                case "--parallelism":
+                    try {
+                        parallelism = Integer.parseInt(value(args, ++i, arg));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("invalid --parallelism: " + args[i]);
+                    }
+                    break;
+                case "--check":
+                    check = true;
+                    break;
+                case "--config":
+                    config = value(args, ++i, arg);
+                    break;
+                case "--profile":
+                    profile = value(args, ++i, arg);
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("unknown option: " + arg);
+                    }
+                    paths.add(arg);
+            }
+        }
+        if (filesFrom == null && paths.isEmpty() && !changed) {
+            filesFrom = "-";
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("missing value of option: " + option);
+        }
+        return args[index];
+    }
+
+    private List<Path> readFiles(InputStream in, PrintStream err) throws IOException {
+        Set<String> names = new LinkedHashSet<>(paths);
+        if (filesFrom != null) {
+            byte[] bytes = ("-".equals(filesFrom) ? FileUtils.readFully(in) : Files.readAllBytes(Paths.get(filesFrom)));
+            String content = new String(bytes, MyossConstants.DEFAULT_CHARSET);
+            for (String name : StringUtils.split(content, nullSeparated ? "\0" : "\r\n")) {
+                names.add(name);
+            }
+        }
+        if (changed) {
+            for (Path file : GitUtils.changedFiles(Paths.get("").toAbsolutePath(), changedSince)) {
+                names.add(file.toString());
+            }
+        }
+        List<Path> files = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (!name.endsWith(".java")) {
+                continue;
+            }
+            Path file = Paths.get(name);
+            if (!Files.isRegularFile(file)) {
+                err.println("skip missing file: " + name);
+                continue;
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    private int execute(List<Path> files, PrintStream err) {
+        JavaCodeFormatter prototype;
+        try {
+            ImportsSorter452 importsSorter = new ImportsSorter452(new ImportsComparator());
+            prototype = (config != null ? new JavaCodeFormatter(config, profile, importsSorter)
+                    : new JavaCodeFormatter(importsSorter));
+        } catch (RuntimeException ex) {
+            err.println("load formatter config failed: " + ex);
+            return EXIT_ERROR;
+        }
+        List<FileFormatResult> results;
+        try {
+            results = (check ? prototype.checkFilesResult(files, parallelism)
+                    : prototype.formatFilesResult(files, parallelism));
+        } catch (RuntimeException ex) {
+            err.println("format failed: " + ex);
+            return EXIT_ERROR;
+        }
+
+        int exitCode = EXIT_OK;
+        for (FileFormatResult result : results) {
+            if (!result.isSuccess()) {
+                err.println("format failed: " + result.getFilePath() + ": " + result.describeFailure());
+                exitCode = EXIT_ERROR;
+            } else if (check && result.getStatus() == FileFormatStatus.CHANGED) {
+                err.println("not formatted: " + result.getFilePath());
+                exitCode = Math.max(exitCode, EXIT_NOT_FORMATTED);
+            }
+        }
+        return exitCode;
+    }
+}
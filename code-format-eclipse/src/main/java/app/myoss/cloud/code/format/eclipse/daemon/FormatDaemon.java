@@ -0,0 +1,389 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.PooledJavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Command;
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Status;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.report.TextFormatResult;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 格式化守护进程，常驻内存并保留预热好的 {@link JavaCodeFormatter}，通过本机回环地址的 TCP
+ * 端口接收格式化请求，避免每次格式化都重新启动 JVM、加载 Eclipse JDT 和读取格式化规则
+ *
+ * <pre>
+ * 启动之后会把"端口 令牌"写入端口文件（只有当前用户可以读取），客户端读取端口文件连接守护进程，参考 {@link FormatDaemonClient}
+ * 超过空闲时间没有收到请求时自动退出
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午7:15:48
+ */
+@Slf4j
+public class FormatDaemon implements Closeable {
+    /**
+     * 默认的端口文件
+     */
+    public static final Path              DEFAULT_PORT_FILE = Paths.get(System.getProperty("user.home"), ".code-format",
+            "daemon.port");
+    private static final String           WARM_UP_SOURCE    = "import java.util.List;\nimport java.io.File;\n"
+            + "public class WarmUp {\n\tprivate   List<File>   files;\n}\n";
+    private final PooledJavaCodeFormatter formatter;
+    private final ServerSocket            serverSocket;
+    private final String                  token;
+    private final byte[]                  tokenBytes;
+    private final long                    idleTimeoutMillis;
+    private final ExecutorService         executor;
+    private final AtomicInteger           activeConnections = new AtomicInteger();
+    private final AtomicLong              requestCount      = new AtomicLong();
+    private volatile long                 lastActiveTime    = System.currentTimeMillis();
+    private volatile boolean              closed;
+    private Thread                        acceptThread;
+
+    /**
+     * 格式化守护进程，只监听本机回环地址
+     *
+     * @param formatter 线程安全的格式化工具
+     * @param port 监听的端口，0 表示随机选择可用的端口
+     * @param threads 处理请求的线程数量
+     * @param idleTimeout 空闲时间，超过空闲时间没有收到请求时自动退出，0 表示不会自动退出
+     * @param unit 空闲时间的单位
+     * @throws IOException 异常信息
+     */
+    public FormatDaemon(PooledJavaCodeFormatter formatter, int port, int threads, long idleTimeout, TimeUnit unit)
+            throws IOException {
+        this.formatter = formatter;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.token = newToken();
+        this.tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+        this.idleTimeoutMillis = unit.toMillis(idleTimeout);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "format-daemon-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 预热格式化工具，并开始接收请求
+     *
+     * @throws IOException 异常信息
+     */
+    public void start() throws IOException {
+        warmUp();
+        serverSocket.setSoTimeout(1000);
+        acceptThread = new Thread(this::acceptLoop, "format-daemon-acceptor");
+        acceptThread.start();
+        log.info("format daemon started, port: {}", getPort());
+    }
+
+    /**
+     * 把"端口 令牌"写入端口文件，客户端通过端口文件连接守护进程
+     *
+     * @param portFile 端口文件
+     * @throws IOException 异常信息
+     */
+    public void writePortFile(Path portFile) throws IOException {
+        if (portFile.getParent() != null) {
+            Files.createDirectories(portFile.getParent());
+        }
+        Path tempFile = portFile.resolveSibling(portFile.getFileName() + ".tmp");
+        Files.deleteIfExists(tempFile);
+        Files.createFile(tempFile);
+        try {
+            Files.setPosixFilePermissions(tempFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException ex) {
+            log.debug("posix file permissions not supported: {}", tempFile);
+        }
+        Files.write(tempFile, (getPort() + " " + token).getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile, portFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 等待守护进程退出
+     *
+     * @throws InterruptedException 异常信息
+     */
+    public void awaitTermination() throws InterruptedException {
+        if (acceptThread != null) {
+            acceptThread.join();
+        }
+    }
+
+    /**
+     * 监听的端口
+     *
+     * @return 端口
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 客户端连接守护进程需要使用的令牌
+     *
+     * @return 令牌
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * 累计处理的请求数量
+     *
+     * @return 请求数量
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * 守护进程是否已经关闭
+     *
+     * @return true: 已经关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ex) {
+            log.warn("close server socket failed", ex);
+        }
+        executor.shutdown();
+        log.info("format daemon stopped, requests: {}", requestCount.get());
+    }
+
+    private void warmUp() {
+        try {
+            formatter.formatText(new StringBuilder(WARM_UP_SOURCE));
+        } catch (Exception ex) {
+            throw new BizRuntimeException("warm up formatter failed", ex);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                activeConnections.incrementAndGet();
+                lastActiveTime = System.currentTimeMillis();
+                executor.execute(() -> handle(socket));
+            } catch (SocketTimeoutException ex) {
+                if (idleTimeoutMillis > 0 && activeConnections.get() == 0
+                        && System.currentTimeMillis() - lastActiveTime > idleTimeoutMillis) {
+                    log.info("format daemon idle timeout");
+                    close();
+                }
+            } catch (IOException ex) {
+                if (!closed) {
+                    log.error("accept connection failed", ex);
+                    close();
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket client = socket;
+                DataInputStream input = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()))) {
+            while (true) {
+                String requestToken;
+                try {
+                    requestToken = FormatProtocol.readString(input);
+                } catch (EOFException ex) {
+                    return;
+                }
+                String commandName = FormatProtocol.readString(input);
+                String argument = FormatProtocol.readString(input);
+                requestCount.incrementAndGet();
+                lastActiveTime = System.currentTimeMillis();
+                if (!MessageDigest.isEqual(tokenBytes, requestToken.getBytes(StandardCharsets.UTF_8))) {
+                    write(output, new FormatResponse(Status.ERROR, null, "invalid token"));
+                    return;
+                }
+                Command command;
+                try {
+                    command = Command.valueOf(commandName);
+                } catch (IllegalArgumentException ex) {
+                    write(output, new FormatResponse(Status.ERROR, null, "unknown command: " + commandName));
+                    continue;
+                }
+                write(output, execute(command, argument));
+                if (command == Command.SHUTDOWN) {
+                    close();
+                    return;
+                }
+            }
+        } catch (SocketException ex) {
+            log.debug("connection closed", ex);
+        } catch (IOException ex) {
+            log.warn("handle connection failed", ex);
+        } finally {
+            activeConnections.decrementAndGet();
+            lastActiveTime = System.currentTimeMillis();
+        }
+    }
+
+    private FormatResponse execute(Command command, String argument) {
+        try {
+            switch (command) {
+                case PING:
+                case SHUTDOWN:
+                    return new FormatResponse(Status.OK, null, null);
+                case FORMAT_FILE:
+                    return toResponse(formatter.formatFileResult(argument));
+                case CHECK_FILE:
+                    return toResponse(formatter.checkFileResult(argument));
+                case FORMAT_TEXT:
+                case CHECK_TEXT:
+                    return toResponse(formatter.formatTextResult(null, argument), command == Command.FORMAT_TEXT);
+                default:
+                    return new FormatResponse(Status.ERROR, null, "unsupported command: " + command);
+            }
+        } catch (Exception ex) {
+            log.error("format failed: " + StringUtils.abbreviate(argument, 200), ex);
+            return new FormatResponse(Status.ERROR, null, ex.toString());
+        }
+    }
+
+    private static FormatResponse toResponse(TextFormatResult result, boolean withContent) {
+        if (!result.isSuccess()) {
+            return new FormatResponse(Status.ERROR, null, result.describeFailure());
+        }
+        Status status = (result.getStatus() == FileFormatStatus.CHANGED ? Status.CHANGED : Status.UNCHANGED);
+        return new FormatResponse(status, (withContent ? result.getFormatted() : null), null);
+    }
+
+    private static FormatResponse toResponse(FileFormatResult result) {
+        switch (result.getStatus()) {
+            case CHANGED:
+                return new FormatResponse(Status.CHANGED, null, null);
+            case UNCHANGED:
+            case SKIPPED:
+                return new FormatResponse(Status.UNCHANGED, null, null);
+            default:
+                return new FormatResponse(Status.ERROR, null, result.describeFailure());
+        }
+    }
+
+    private void write(DataOutputStream output, FormatResponse response) throws IOException {
+        FormatProtocol.writeString(output, response.getStatus().name());
+        FormatProtocol.writeString(output, response.getContent());
+        FormatProtocol.writeString(output, response.getMessage());
+        output.flush();
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 启动格式化守护进程
+     *
+     * <pre>
+     * 参数：
+     *  --port-file 端口文件，默认：~/.code-format/daemon.port
+     *  --port 监听的端口，默认随机选择可用的端口
+     *  --threads 处理请求的线程数量，默认为 CPU 核数
+     *  --idle-timeout 空闲多少分钟之后自动退出，默认30分钟，0 表示不会自动退出
+     * </pre>
+     *
+     * @param args 启动参数
+     * @throws Exception 异常信息
+     */
+    public static void main(String[] args) throws Exception {
+        Path portFile = DEFAULT_PORT_FILE;
+        int port = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long idleTimeout = 30;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--port-file".equals(arg)) {
+                portFile = Paths.get(args[++i]);
+            } else if ("--port".equals(arg)) {
+                port = Integer.parseInt(args[++i]);
+            } else if ("--threads".equals(arg)) {
+                threads = Integer.parseInt(args[++i]);
+            } else if ("--idle-timeout".equals(arg)) {
+                idleTimeout = Long.parseLong(args[++i]);
+            } else {
+                throw new IllegalArgumentException("unknown argument: " + arg);
+            }
+        }
+        JavaCodeFormatter prototype = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        PooledJavaCodeFormatter pooledFormatter = new PooledJavaCodeFormatter(prototype, threads, 30, TimeUnit.SECONDS);
+        try (FormatDaemon daemon = new FormatDaemon(pooledFormatter, port, threads, idleTimeout, TimeUnit.MINUTES)) {
+            daemon.start();
+            daemon.writePortFile(portFile);
+            Runtime.getRuntime().addShutdownHook(new Thread(daemon::close));
+            daemon.awaitTermination();
+        } finally {
+            Files.deleteIfExists(portFile);
+        }
+    }
+}
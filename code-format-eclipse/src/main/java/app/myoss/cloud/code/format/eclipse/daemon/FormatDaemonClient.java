@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.commons.lang3.StringUtils;
+
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Command;
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Status;
+import app.myoss.cloud.code.format.eclipse.utils.FileUtils;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * 格式化守护进程的客户端，一个客户端对应一个连接，可以连续发送多个请求，不是线程安全的
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午7:46:20
+ */
+public class FormatDaemonClient implements Closeable {
+    private final String           token;
+    private final Socket           socket;
+    private final DataInputStream  input;
+    private final DataOutputStream output;
+
+    /**
+     * 连接格式化守护进程
+     *
+     * @param port 守护进程监听的端口
+     * @param token 守护进程的令牌
+     * @throws IOException 异常信息
+     */
+    public FormatDaemonClient(int port, String token) throws IOException {
+        this.token = token;
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.socket.setTcpNoDelay(true);
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * 通过端口文件连接格式化守护进程
+     *
+     * @param portFile 端口文件，参考 {@link FormatDaemon#writePortFile(Path)}
+     * @return 格式化守护进程的客户端
+     * @throws IOException 异常信息
+     */
+    public static FormatDaemonClient connect(Path portFile) throws IOException {
+        String[] values = StringUtils.split(new String(Files.readAllBytes(portFile), StandardCharsets.UTF_8).trim(),
+                ' ');
+        if (values.length != 2) {
+            throw new BizRuntimeException("invalid port file: " + portFile);
+        }
+        return new FormatDaemonClient(Integer.parseInt(values[0]), values[1]);
+    }
+
+    /**
+     * 发送请求
+     *
+     * @param command 请求命令
+     * @param argument 参数（文件路径或者代码内容）
+     * @return 响应
+     * @throws IOException 异常信息
+     */
+    public FormatResponse send(Command command, String argument) throws IOException {
+        FormatProtocol.writeString(output, token);
+        FormatProtocol.writeString(output, command.name());
+        FormatProtocol.writeString(output, argument);
+        output.flush();
+        Status status = Status.valueOf(FormatProtocol.readString(input));
+        String content = FormatProtocol.readString(input);
+        String message = FormatProtocol.readString(input);
+        return new FormatResponse(status, content, message);
+    }
+
+    /**
+     * 检查守护进程是否可用
+     *
+     * @return true: 可用
+     * @throws IOException 异常信息
+     */
+    public boolean ping() throws IOException {
+        return send(Command.PING, null).getStatus() == Status.OK;
+    }
+
+    /**
+     * 格式化文件
+     *
+     * @param file 文件路径
+     * @return 响应
+     * @throws IOException 异常信息
+     */
+    public FormatResponse formatFile(Path file) throws IOException {
+        return send(Command.FORMAT_FILE, file.toAbsolutePath().toString());
+    }
+
+    /**
+     * 检查文件是否已经格式化
+     *
+     * @param file 文件路径
+     * @return 响应
+     * @throws IOException 异常信息
+     */
+    public FormatResponse checkFile(Path file) throws IOException {
+        return send(Command.CHECK_FILE, file.toAbsolutePath().toString());
+    }
+
+    /**
+     * 格式化代码内容
+     *
+     * @param content 代码内容
+     * @return 响应，content 为格式化之后的代码
+     * @throws IOException 异常信息
+     */
+    public FormatResponse formatText(String content) throws IOException {
+        return send(Command.FORMAT_TEXT, content);
+    }
+
+    /**
+     * 关闭守护进程
+     *
+     * @throws IOException 异常信息
+     */
+    public void shutdown() throws IOException {
+        send(Command.SHUTDOWN, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    /**
+     * 格式化守护进程的客户端
+     *
+     * <pre>
+     * 用法：[--port-file 端口文件] format|check|ping|shutdown [文件...]
+     *  文件为 "-" 时从标准输入读取代码内容，format 命令把格式化之后的代码输出到标准输出
+     * 退出码：
+     *  0: 成功
+     *  1: check 命令发现有文件没有格式化
+     *  2: 格式化失败，或者守护进程不可用
+     * </pre>
+     *
+     * @param args 启动参数
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+
+    static int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+        Path portFile = FormatDaemon.DEFAULT_PORT_FILE;
+        int index = 0;
+        if (args.length > 1 && "--port-file".equals(args[0])) {
+            portFile = Paths.get(args[1]);
+            index = 2;
+        }
+        if (index >= args.length) {
+            err.println("usage: [--port-file file] format|check|ping|shutdown [files...]");
+            return 2;
+        }
+        String command = args[index++];
+        int exitCode = 0;
+        try (FormatDaemonClient client = connect(portFile)) {
+            if ("ping".equals(command)) {
+                return (client.ping() ? 0 : 2);
+            }
+            if ("shutdown".equals(command)) {
+                client.shutdown();
+                return 0;
+            }
+            boolean check = "check".equals(command);
+            if (!check && !"format".equals(command)) {
+                err.println("unknown command: " + command);
+                return 2;
+            }
+            for (int i = index; i < args.length; i++) {
+                FormatResponse response;
+                if ("-".equals(args[i])) {
+                    String content = new String(FileUtils.readFully(in), StandardCharsets.UTF_8);
+                    response = client.send(check ? Command.CHECK_TEXT : Command.FORMAT_TEXT, content);
+                    if (!check && response.getStatus() != Status.ERROR) {
+                        out.write(response.getContent().getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                    }
+                } else {
+                    Path file = Paths.get(args[i]);
+                    response = (check ? client.checkFile(file) : client.formatFile(file));
+                }
+                if (response.getStatus() == Status.ERROR) {
+                    err.println("format failed: " + args[i] + ", " + response.getMessage());
+                    exitCode = 2;
+                } else if (check && response.getStatus() == Status.CHANGED) {
+                    err.println("not formatted: " + args[i]);
+                    exitCode = Math.max(exitCode, 1);
+                }
+            }
+        } catch (IOException ex) {
+            err.println("format daemon is not available: " + ex);
+            return 2;
+        }
+        return exitCode;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 格式化守护进程的通信协议，每个连接可以连续发送多个请求
+ *
+ * <pre>
+ * 请求：令牌、命令、参数（文件路径或者代码内容）
+ * 响应：状态、内容（格式化之后的代码，只有 FORMAT_TEXT 命令返回）、错误信息
+ * 字符串格式：4个字节的长度 + UTF-8 编码的内容
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午7:02:13
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FormatProtocol {
+    /**
+     * 单个字符串最大的字节数，防止错误的请求占用过多的内存
+     */
+    public static final int MAX_STRING_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * 写入字符串
+     *
+     * @param output 输出流
+     * @param value 字符串，null 写入为空字符串
+     * @throws IOException 异常信息
+     */
+    public static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * 读取字符串
+     *
+     * @param input 输入流
+     * @return 字符串
+     * @throws IOException 异常信息
+     */
+    public static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 请求命令
+     */
+    public enum Command {
+        /**
+         * 检查守护进程是否可用
+         */
+        PING,
+        /**
+         * 格式化文件，格式化之后内容发生变化时写入文件
+         */
+        FORMAT_FILE,
+        /**
+         * 检查文件是否已经格式化，不会写入文件
+         */
+        CHECK_FILE,
+        /**
+         * 格式化代码内容，返回格式化之后的代码
+         */
+        FORMAT_TEXT,
+        /**
+         * 检查代码内容是否已经格式化
+         */
+        CHECK_TEXT,
+        /**
+         * 关闭守护进程
+         */
+        SHUTDOWN
+    }
+
+    /**
+     * 响应状态
+     */
+    public enum Status {
+        /**
+         * 成功
+         */
+        OK,
+        /**
+         * 格式化之后内容发生了变化
+         */
+        CHANGED,
+        /**
+         * 格式化之后内容没有变化
+         */
+        UNCHANGED,
+        /**
+         * 处理失败
+         */
+        ERROR
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.daemon;
+
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Status;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 格式化守护进程的响应
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午7:10:36
+ */
+@Getter
+@ToString(exclude = "content")
+public class FormatResponse {
+    /**
+     * 响应状态
+     */
+    private final Status status;
+    /**
+     * 格式化之后的代码，只有 FORMAT_TEXT 命令返回
+     */
+    private final String content;
+    /**
+     * 错误信息
+     */
+    private final String message;
+
+    /**
+     * 格式化守护进程的响应
+     *
+     * @param status 响应状态
+     * @param content 格式化之后的代码
+     * @param message 错误信息
+     */
+    public FormatResponse(Status status, String content, String message) {
+        this.status = status;
+        this.content = content;
+        this.message = message;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports;
+
+/**
+ * import 名称解析器，解析 import 中类的简单名称（嵌套类包含外部类的名称，比如：Map.Entry）
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午4:12:05
+ */
+@FunctionalInterface
+public interface ImportNameResolver {
+    /**
+     * 解析 import 中类的简单名称
+     *
+     * @param qualified import 内容，比如：java.util.Map.Entry
+     * @return 简单名称，比如：Map.Entry；无法解析时返回 null
+     */
+    String resolveSimpleName(String qualified);
+}
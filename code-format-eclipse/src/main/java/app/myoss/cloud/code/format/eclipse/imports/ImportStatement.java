@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Java 源代码中的一条 import 语句
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:31:05
+ */
+@Getter
+@ToString
+public class ImportStatement {
+    /**
+     * import 语句的开始位置（import 关键字的位置）
+     */
+    private final int    start;
+    /**
+     * import 语句的结束位置（不包含），即分号之后的位置
+     */
+    private final int    end;
+    /**
+     * import 的内容，比如：java.util.List、static java.util.Objects.requireNonNull、java.util.*
+     */
+    private final String name;
+
+    /**
+     * Java 源代码中的一条 import 语句
+     *
+     * @param start import 语句的开始位置
+     * @param end import 语句的结束位置（不包含）
+     * @param name import 的内容
+     */
+    public ImportStatement(int start, int end, String name) {
+        this.start = start;
+        this.end = end;
+        this.name = name;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.myoss.cloud.code.format.eclipse.utils.TextUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Java 源代码头部扫描工具，只扫描 package、import 语句和注释，遇到第一个类型声明就停止，
+ * 不会被注释、字符串、Javadoc 中的 "import " 文本干扰
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:40:18
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImportsScanner {
+    /**
+     * 扫描 Java 源代码的头部
+     *
+     * @param source Java 源代码
+     * @return 头部信息
+     */
+    public static JavaHeader scan(CharSequence source) {
+        int length = source.length();
+        int pos = (length > 0 && source.charAt(0) == TextUtils.BOM ? 1 : 0);
+        String packageName = null;
+        List<ImportStatement> imports = new ArrayList<>();
+        while (true) {
+            pos = skipTrivia(source, pos);
+            if (pos >= length) {
+                break;
+            }
+            char c = source.charAt(pos);
+            if (c == ';') {
+                pos++;
+                continue;
+            }
+            if (c == '@') {
+                // package-info.java 中 package 前面的注解
+                int next = skipAnnotations(source, pos);
+                if (!isKeyword(source, next, "package")) {
+                    break;
+                }
+                pos = next;
+                continue;
+            }
+            if (isKeyword(source, pos, "package")) {
+                int end = readName(source, pos + "package".length(), false);
+                if (end == -1) {
+                    break;
+                }
+                packageName = readName(source, pos + "package".length());
+                pos = end;
+                continue;
+            }
+            if (isKeyword(source, pos, "import")) {
+                int end = readName(source, pos + "import".length(), true);
+                if (end == -1) {
+                    break;
+                }
+                imports.add(new ImportStatement(pos, end, readName(source, pos + "import".length())));
+                pos = end;
+                continue;
+            }
+            break;
+        }
+        return new JavaHeader(packageName, imports, Math.min(pos, length));
+    }
+
+    /**
+     * 校验 package/import 之后的名称是否合法
+     *
+     * @param source Java 源代码
+     * @param from 关键字之后的位置
+     * @param allowStatic 是否允许 static 和 * 号
+     * @return 分号之后的位置，不合法时返回 -1
+     */
+    private static int readName(CharSequence source, int from, boolean allowStatic) {
+        int length = source.length();
+        int pos = skipTrivia(source, from);
+        if (allowStatic && isKeyword(source, pos, "static")) {
+            pos = skipTrivia(source, pos + "static".length());
+        }
+        boolean expectIdentifier = true;
+        while (pos < length) {
+            char c = source.charAt(pos);
+            if (c == ';') {
+                return (expectIdentifier ? -1 : pos + 1);
+            }
+            if (expectIdentifier && Character.isJavaIdentifierStart(c)) {
+                pos = skipIdentifier(source, pos);
+                expectIdentifier = false;
+            } else if (expectIdentifier && allowStatic && c == '*') {
+                pos++;
+                expectIdentifier = false;
+            } else if (!expectIdentifier && c == '.') {
+                pos++;
+                expectIdentifier = true;
+            } else {
+                return -1;
+            }
+            pos = skipTrivia(source, pos);
+        }
+        return -1;
+    }
+
+    /**
+     * 读取 package/import 之后的名称，去掉空白字符和注释
+     *
+     * @param source Java 源代码
+     * @param from 关键字之后的位置
+     * @return 名称，比如：java.util.List、static java.util.Objects.requireNonNull
+     */
+    private static String readName(CharSequence source, int from) {
+        StringBuilder name = new StringBuilder();
+        int pos = skipTrivia(source, from);
+        if (isKeyword(source, pos, "static")) {
+            name.append("static ");
+            pos = skipTrivia(source, pos + "static".length());
+        }
+        while (source.charAt(pos) != ';') {
+            char c = source.charAt(pos);
+            if (Character.isJavaIdentifierStart(c)) {
+                int end = skipIdentifier(source, pos);
+                name.append(source, pos, end);
+                pos = end;
+            } else {
+                name.append(c);
+                pos++;
+            }
+            pos = skipTrivia(source, pos);
+        }
+        return name.toString();
+    }
+
+    private static int skipAnnotations(CharSequence source, int from) {
+        int pos = from;
+        while (pos < source.length() && source.charAt(pos) == '@') {
+            pos = skipTrivia(source, pos + 1);
+            // 注解名称
+            while (pos < source.length() && Character.isJavaIdentifierStart(source.charAt(pos))) {
+                pos = skipTrivia(source, skipIdentifier(source, pos));
+                if (pos < source.length() && source.charAt(pos) == '.') {
+                    pos = skipTrivia(source, pos + 1);
+                } else {
+                    break;
+                }
+            }
+            // 注解参数
+            if (pos < source.length() && source.charAt(pos) == '(') {
+                pos = skipParentheses(source, pos);
+            }
+            pos = skipTrivia(source, pos);
+        }
+        return pos;
+    }
+
+    private static int skipParentheses(CharSequence source, int from) {
+        int length = source.length();
+        int depth = 0;
+        int pos = from;
+        while (pos < length) {
+            char c = source.charAt(pos);
+            if (c == '"' || c == '\'') {
+                pos = skipLiteral(source, pos, c);
+                continue;
+            }
+            int next = skipTrivia(source, pos);
+            if (next != pos) {
+                pos = next;
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return pos + 1;
+                }
+            }
+            pos++;
+        }
+        return length;
+    }
+
+    private static int skipLiteral(CharSequence source, int from, char quote) {
+        int length = source.length();
+        int pos = from + 1;
+        while (pos < length) {
+            char c = source.charAt(pos);
+            if (c == '\\') {
+                pos += 2;
+                continue;
+            }
+            if (c == quote || c == '\n') {
+                return pos + 1;
+            }
+            pos++;
+        }
+        return length;
+    }
+
+    /**
+     * 跳过空白字符和注释
+     *
+     * @param source Java 源代码
+     * @param from 开始位置
+     * @return 第一个非空白、非注释字符的位置
+     */
+    private static int skipTrivia(CharSequence source, int from) {
+        int length = source.length();
+        int pos = from;
+        while (pos < length) {
+            char c = source.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '/' && pos + 1 < length && source.charAt(pos + 1) == '/') {
+                pos += 2;
+                while (pos < length && source.charAt(pos) != '\n' && source.charAt(pos) != '\r') {
+                    pos++;
+                }
+            } else if (c == '/' && pos + 1 < length && source.charAt(pos + 1) == '*') {
+                pos += 2;
+                while (pos < length
+                        && !(source.charAt(pos) == '*' && pos + 1 < length && source.charAt(pos + 1) == '/')) {
+                    pos++;
+                }
+                pos = Math.min(pos + 2, length);
+            } else {
+                break;
+            }
+        }
+        return pos;
+    }
+
+    private static int skipIdentifier(CharSequence source, int from) {
+        int pos = from + 1;
+        while (pos < source.length() && Character.isJavaIdentifierPart(source.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isKeyword(CharSequence source, int pos, String keyword) {
+        int end = pos + keyword.length();
+        if (end > source.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (source.charAt(pos + i) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return end == source.length() || !Character.isJavaIdentifierPart(source.charAt(end));
+    }
+}
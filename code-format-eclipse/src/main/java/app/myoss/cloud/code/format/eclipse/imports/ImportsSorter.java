@@ -37,6 +37,15 @@ public interface ImportsSorter {
         return Stream.of("java", "javax", "org", "com").collect(Collectors.toList());
     }
 
+    /**
+     * 获取当前使用的排序规则
+     *
+     * @return 当前使用的排序规则
+     */
+    default List<String> getImportOrder() {
+        return defaultOrder();
+    }
+
     /**
      * 将 import package 进行排序
      *
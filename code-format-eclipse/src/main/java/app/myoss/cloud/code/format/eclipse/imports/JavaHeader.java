@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Java 源代码的头部信息：package 和 import 语句，不包含类型声明
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:33:47
+ */
+@Getter
+@ToString
+public class JavaHeader {
+    /**
+     * package 名称，没有 package 声明时为 null
+     */
+    private final String                packageName;
+    /**
+     * 所有的 import 语句，按照在源代码中出现的顺序
+     */
+    private final List<ImportStatement> imports;
+    /**
+     * 头部的结束位置，即第一个类型声明（或者其它非 package/import 内容）的开始位置
+     */
+    private final int                   end;
+
+    /**
+     * Java 源代码的头部信息
+     *
+     * @param packageName package 名称
+     * @param imports 所有的 import 语句
+     * @param end 头部的结束位置
+     */
+    public JavaHeader(String packageName, List<ImportStatement> imports, int end) {
+        this.packageName = packageName;
+        this.imports = imports;
+        this.end = end;
+    }
+
+    /**
+     * 第一条 import 语句的开始位置
+     *
+     * @return 开始位置，没有 import 时返回 -1
+     */
+    public int getImportsStart() {
+        return (imports.isEmpty() ? -1 : imports.get(0).getStart());
+    }
+
+    /**
+     * 最后一条 import 语句的结束位置（不包含）
+     *
+     * @return 结束位置，没有 import 时返回 -1
+     */
+    public int getImportsEnd() {
+        return (imports.isEmpty() ? -1 : imports.get(imports.size() - 1).getEnd());
+    }
+
+    /**
+     * 获取去重之后的 import 内容
+     *
+     * @return import 内容
+     */
+    public List<String> getImportNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (ImportStatement statement : imports) {
+            names.add(statement.getName());
+        }
+        return new ArrayList<>(names);
+    }
+}
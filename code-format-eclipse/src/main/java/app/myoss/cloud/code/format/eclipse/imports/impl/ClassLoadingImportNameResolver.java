@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports.impl;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportNameResolver;
+
+/**
+ * 通过加载类来解析 import 中类的简单名称，只能解析当前 classpath 中存在的类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午4:14:38
+ */
+public class ClassLoadingImportNameResolver implements ImportNameResolver {
+    @Override
+    public String resolveSimpleName(String qualified) {
+        Class<?> clazz = getClass(qualified);
+        if (clazz == null) {
+            return null;
+        }
+        Class<?> containingClass = clazz;
+        StringBuilder simpleName = new StringBuilder(clazz.getSimpleName());
+        while (containingClass != null && containingClass.getDeclaringClass() != null) {
+            containingClass = containingClass.getDeclaringClass();
+            if (containingClass != null) {
+                simpleName.insert(0, containingClass.getSimpleName() + ".");
+            }
+        }
+        return simpleName.toString();
+    }
+
+    private Class<?> getClass(String qualified) {
+        try {
+            return ClassUtils.getClass(qualified, false);
+        } catch (Throwable ex) {
+            // Class or one of its dependencies is not present...
+            return null;
+        }
+    }
+}
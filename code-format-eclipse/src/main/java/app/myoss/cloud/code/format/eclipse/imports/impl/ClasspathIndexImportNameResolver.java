@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.ProviderNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.lang3.StringUtils;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportNameResolver;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 通过预先计算好的 classpath 索引解析 import 中类的简单名称，不会加载任何类
+ *
+ * <pre>
+ * 索引中只需要记录嵌套类（顶层类的简单名称可以直接从 import 内容中截取），类名使用 Class#getName() 的格式，比如：java.util.Map$Entry
+ * 索引文件格式：每行一个类名
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午4:26:52
+ */
+@Slf4j
+public class ClasspathIndexImportNameResolver implements ImportNameResolver {
+    private static final String       CLASS_SUFFIX    = ".class";
+    private static final String       BOOT_CLASS_PATH = "sun.boot.class.path";
+    /**
+     * key: 嵌套类的 import 内容，比如：java.util.Map.Entry; value: 简单名称，比如：Map.Entry
+     */
+    private final Map<String, String> nestedClasses;
+
+    /**
+     * 通过类名创建索引
+     *
+     * @param classNames 类名，比如：java.util.Map$Entry
+     */
+    public ClasspathIndexImportNameResolver(Collection<String> classNames) {
+        Map<String, String> map = new HashMap<>();
+        for (String className : classNames) {
+            addClassName(map, className);
+        }
+        this.nestedClasses = map;
+    }
+
+    @Override
+    public String resolveSimpleName(String qualified) {
+        return nestedClasses.get(qualified);
+    }
+
+    /**
+     * 索引中嵌套类的数量
+     *
+     * @return 嵌套类的数量
+     */
+    public int size() {
+        return nestedClasses.size();
+    }
+
+    /**
+     * 扫描 classpath 中的 jar 包和目录，创建索引
+     *
+     * @param classpath classpath 中的 jar 包和目录
+     * @return 索引
+     */
+    public static ClasspathIndexImportNameResolver scan(Collection<Path> classpath) {
+        List<String> classNames = new ArrayList<>();
+        scan(classpath, classNames);
+        return new ClasspathIndexImportNameResolver(classNames);
+    }
+
+    /**
+     * 扫描当前 JVM 的 classpath，创建索引；JDK 的类在 Java 8 中通过 boot classpath 扫描，Java 9
+     * 及以上版本没有 boot classpath，通过 {@code jrt:/} 文件系统扫描
+     *
+     * @return 索引
+     */
+    public static ClasspathIndexImportNameResolver scanClassPath() {
+        List<Path> classpath = Stream.of(BOOT_CLASS_PATH, "java.class.path")
+                .map(System::getProperty)
+                .filter(StringUtils::isNotBlank)
+                .flatMap(value -> Stream.of(value.split(File.pathSeparator)))
+                .filter(StringUtils::isNotBlank)
+                .map(Paths::get)
+                .collect(Collectors.toList());
+        List<String> classNames = new ArrayList<>();
+        if (StringUtils.isBlank(System.getProperty(BOOT_CLASS_PATH))) {
+            scanRuntimeImage(classNames);
+        }
+        scan(classpath, classNames);
+        return new ClasspathIndexImportNameResolver(classNames);
+    }
+
+    /**
+     * 读取索引文件
+     *
+     * @param indexFile 索引文件，每行一个类名
+     * @return 索引
+     */
+    public static ClasspathIndexImportNameResolver load(Path indexFile) {
+        try (Stream<String> lines = Files.lines(indexFile, StandardCharsets.UTF_8)) {
+            return new ClasspathIndexImportNameResolver(
+                    lines.map(String::trim).filter(StringUtils::isNotEmpty).collect(Collectors.toList()));
+        } catch (IOException | UncheckedIOException ex) {
+            throw new BizRuntimeException("read classpath index: " + indexFile, ex);
+        }
+    }
+
+    /**
+     * 保存索引文件，可以通过 {@link #load(Path)} 读取
+     *
+     * @param indexFile 索引文件
+     */
+    public void save(Path indexFile) {
+        List<String> classNames = new ArrayList<>(nestedClasses.size());
+        for (Entry<String, String> entry : nestedClasses.entrySet()) {
+            String qualified = entry.getKey();
+            String simpleName = entry.getValue();
+            classNames.add(
+                    qualified.substring(0, qualified.length() - simpleName.length()) + simpleName.replace('.', '$'));
+        }
+        classNames.sort(null);
+        try {
+            Files.write(indexFile, classNames, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new BizRuntimeException("write classpath index: " + indexFile, ex);
+        }
+    }
+
+    private static void addClassName(Map<String, String> map, String className) {
+        int lastDot = className.lastIndexOf('.');
+        String binarySimpleName = className.substring(lastDot + 1);
+        if (binarySimpleName.indexOf('$') == -1) {
+            return;
+        }
+        for (String name : StringUtils.split(binarySimpleName, '$')) {
+            if (!Character.isJavaIdentifierStart(name.charAt(0))) {
+                // 匿名类和局部类不能被 import
+                return;
+            }
+        }
+        String simpleName = binarySimpleName.replace('$', '.');
+        map.put(className.substring(0, lastDot + 1) + simpleName, simpleName);
+    }
+
+    private static void scan(Collection<Path> classpath, List<String> classNames) {
+        for (Path path : classpath) {
+            if (Files.isDirectory(path)) {
+                scanDirectory(path, classNames);
+            } else if (Files.isRegularFile(path)) {
+                scanArchive(path, classNames);
+            }
+        }
+    }
+
+    /**
+     * 扫描 JDK 运行时镜像（{@code jrt:/} 文件系统）中所有模块的类
+     *
+     * @param classNames 扫描到的类名
+     */
+    private static void scanRuntimeImage(List<String> classNames) {
+        Path modules;
+        try {
+            modules = FileSystems.getFileSystem(URI.create("jrt:/")).getPath("/modules");
+        } catch (ProviderNotFoundException | FileSystemNotFoundException ex) {
+            log.warn("jrt file system is not available, JDK classes are not indexed", ex);
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(modules)) {
+            for (Path module : stream) {
+                scanDirectory(module, classNames);
+            }
+        } catch (IOException ex) {
+            log.warn("scan jrt file system failed, JDK classes are not indexed", ex);
+        }
+    }
+
+    private static void scanDirectory(Path directory, List<String> classNames) {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.filter(path -> path.toString().endsWith(CLASS_SUFFIX))
+                    .map(path -> toClassName(directory.relativize(path).toString().replace(File.separatorChar, '/')))
+                    .forEach(classNames::add);
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("scan classpath directory failed, ignore it: " + directory, ex);
+        }
+    }
+
+    private static void scanArchive(Path archive, List<String> classNames) {
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(CLASS_SUFFIX) && !name.startsWith("META-INF/")) {
+                    classNames.add(toClassName(name));
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("scan classpath archive failed, ignore it: " + archive, ex);
+        }
+    }
+
+    private static String toClassName(String resourceName) {
+        return resourceName.substring(0, resourceName.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+}
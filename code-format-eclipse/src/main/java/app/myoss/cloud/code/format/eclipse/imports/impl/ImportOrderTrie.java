@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * 预编译的 import 排序规则前缀树，查找 import 最匹配的排序规则只需要遍历一次 import 的字符，不需要和每一个排序规则逐个比较
+ *
+ * <pre>
+ * 匹配规则和 {@link app.myoss.cloud.code.format.eclipse.utils.ImportsUtils#betterMatching(String, String, String)} 保持一致：
+ *  1. 最长的排序规则优先
+ *  2. 空字符串规则 "" 和只有一个字符的规则同时匹配时，选择 ""
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午3:32:10
+ */
+public class ImportOrderTrie {
+    private final Node    root;
+    private final boolean matchEmpty;
+
+    /**
+     * 预编译 import 排序规则
+     *
+     * @param orderItems 排序规则
+     * @param exactPackage true: 4.5.1+ 的规则，排序规则需要匹配完整的包名（"static " 和 "" 除外）; false:
+     *            4.5.0 的规则，按照字符串前缀匹配
+     */
+    public ImportOrderTrie(Collection<String> orderItems, boolean exactPackage) {
+        Builder rootBuilder = new Builder();
+        boolean containsEmpty = false;
+        for (String orderItem : orderItems) {
+            if (orderItem.isEmpty()) {
+                containsEmpty = true;
+                continue;
+            }
+            String key = (exactPackage && !"static ".equals(orderItem) ? orderItem + "." : orderItem);
+            Builder builder = rootBuilder;
+            for (int i = 0; i < key.length(); i++) {
+                builder = builder.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+            }
+            builder.item = orderItem;
+        }
+        this.root = rootBuilder.build();
+        this.matchEmpty = containsEmpty;
+    }
+
+    /**
+     * 查找 import 最匹配的排序规则
+     *
+     * @param anImport import 内容
+     * @return 最匹配的排序规则，没有匹配的返回 null
+     */
+    public String getBestMatching(String anImport) {
+        String matching = null;
+        Node node = root;
+        for (int i = 0; i < anImport.length(); i++) {
+            node = node.child(anImport.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.item != null) {
+                matching = node.item;
+            }
+        }
+        if (matchEmpty && (matching == null || matching.length() == 1)) {
+            return "";
+        }
+        return matching;
+    }
+
+    private static class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private String                            item;
+
+        private Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(keys, nodes, item);
+        }
+    }
+
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final String item;
+
+        private Node(char[] keys, Node[] children, String item) {
+            this.keys = keys;
+            this.children = children;
+            this.item = item;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return (index >= 0 ? children[index] : null);
+        }
+    }
+}
@@ -19,10 +19,12 @@ package app.myoss.cloud.code.format.eclipse.imports.impl;
 
 import java.util.Comparator;
 
-import org.apache.commons.lang3.ClassUtils;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
+import app.myoss.cloud.code.format.eclipse.imports.ImportNameResolver;
 import app.myoss.cloud.code.format.eclipse.utils.ImportsUtils;
-import lombok.extern.slf4j.Slf4j;
 
 /**
  * Java import代码格式化工具排序规则
@@ -34,57 +36,87 @@ import lombok.extern.slf4j.Slf4j;
  * @author Jerry.Chen
  * @since 2018年7月18日 下午1:35:17
  */
-@Slf4j
 public class ImportsComparator implements Comparator<String> {
+    /**
+     * 默认缓存的 import 数量
+     */
+    public static final long                       DEFAULT_CACHE_SIZE = 10000;
+    private final LoadingCache<String, ImportName> importNames;
+
+    /**
+     * Java import代码格式化工具排序规则，通过加载类解析嵌套类的名称
+     */
+    public ImportsComparator() {
+        this(new ClassLoadingImportNameResolver());
+    }
+
+    /**
+     * Java import代码格式化工具排序规则
+     *
+     * @param resolver import 名称解析器，比如：{@link ClasspathIndexImportNameResolver}
+     */
+    public ImportsComparator(ImportNameResolver resolver) {
+        this(resolver, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Java import代码格式化工具排序规则
+     *
+     * @param resolver import 名称解析器，比如：{@link ClasspathIndexImportNameResolver}
+     * @param maximumCacheSize 最多缓存的 import 数量
+     */
+    public ImportsComparator(ImportNameResolver resolver, long maximumCacheSize) {
+        this.importNames = CacheBuilder.newBuilder()
+                .maximumSize(maximumCacheSize)
+                .build(CacheLoader.from(qualified -> resolve(resolver, qualified)));
+    }
+
     @Override
     public int compare(String o1, String o2) {
-        String simpleName1 = simpleName(o1);
-        String containerName1 = getPackage(o1, simpleName1);
-
-        String simpleName2 = simpleName(o2);
-        String containerName2 = getPackage(o2, simpleName2);
+        ImportName importName1 = importNames.getUnchecked(o1);
+        ImportName importName2 = importNames.getUnchecked(o2);
 
-        int i = containerName1.compareTo(containerName2);
+        int i = importName1.containerName.compareTo(importName2.containerName);
 
         if (i == 0) {
-            i = simpleName1.compareTo(simpleName2);
+            i = importName1.simpleName.compareTo(importName2.simpleName);
         }
         return i;
     }
 
-    private String getPackage(String qualified, String simple) {
-        String substring;
-        if (qualified.length() > simple.length()) {
-            substring = qualified.substring(0, qualified.length() - simple.length() - 1);
-        } else {
-            substring = ImportsUtils.getPackage(qualified);
-        }
-        return substring;
+    /**
+     * 缓存的 import 数量
+     *
+     * @return import 数量
+     */
+    public long getCacheSize() {
+        return importNames.size();
     }
 
-    private String simpleName(String qualified) {
-        Class<?> clazz = getClass(qualified);
-        if (clazz != null) {
-            Class containingClass = clazz;
-            StringBuilder simpleName = new StringBuilder(clazz.getSimpleName());
-            while (containingClass != null && containingClass.getDeclaringClass() != null) {
-                containingClass = containingClass.getDeclaringClass();
-                if (containingClass != null) {
-                    simpleName.insert(0, containingClass.getSimpleName() + ".");
-                }
-            }
-            return simpleName.toString();
+    private static ImportName resolve(ImportNameResolver resolver, String qualified) {
+        String simpleName = resolver.resolveSimpleName(qualified);
+        if (simpleName == null) {
+            simpleName = ImportsUtils.getSimpleName(qualified);
+        }
+        String containerName;
+        if (qualified.length() > simpleName.length()) {
+            containerName = qualified.substring(0, qualified.length() - simpleName.length() - 1);
         } else {
-            return ImportsUtils.getSimpleName(qualified);
+            containerName = ImportsUtils.getPackage(qualified);
         }
+        return new ImportName(containerName, simpleName);
     }
 
-    private Class<?> getClass(String qualified) {
-        try {
-            return ClassUtils.getClass(qualified);
-        } catch (Throwable ex) {
-            // Class or one of its dependencies is not present...
-            return null;
+    /**
+     * import 拆分之后的包名和简单名称
+     */
+    private static final class ImportName {
+        private final String containerName;
+        private final String simpleName;
+
+        private ImportName(String containerName, String simpleName) {
+            this.containerName = containerName;
+            this.simpleName = simpleName;
         }
     }
 }
@@ -19,6 +19,7 @@ package app.myoss.cloud.code.format.eclipse.imports.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -42,19 +43,21 @@ import app.myoss.cloud.code.format.eclipse.utils.ImportsUtils;
 public class ImportsSorter450 implements ImportsSorter {
     private List<String>       importOrder         = new ArrayList<>();
     private Set<String>        allImportOrderItems = new HashSet<>();
+    private ImportOrderTrie    importOrderTrie;
     private Comparator<String> comparator;
 
     /**
      * Java import代码格式化工具
      *
-     * @param importOrder 排序规则
+     * @param importOrder 排序规则，为 null 时使用默认排序规则
      */
     public ImportsSorter450(List<String> importOrder) {
-        List<String> importOrderCopy = new ArrayList<>(importOrder);
+        List<String> importOrderCopy = (importOrder != null ? new ArrayList<>(importOrder) : defaultOrder());
         normalizeStaticOrderItems(importOrderCopy);
         putStaticItemIfNotExists(importOrderCopy);
         this.importOrder.addAll(importOrderCopy);
         this.allImportOrderItems.addAll(importOrderCopy);
+        this.importOrderTrie = new ImportOrderTrie(allImportOrderItems, false);
         this.comparator = (o1, o2) -> {
             String containerName1 = (allImportOrderItems.contains(o1) ? o1 : ImportsUtils.getPackage(o1));
             String simpleName1 = (allImportOrderItems.contains(o1) ? "" : ImportsUtils.getSimpleName(o1));
@@ -70,6 +73,11 @@ public class ImportsSorter450 implements ImportsSorter {
         };
     }
 
+    @Override
+    public List<String> getImportOrder() {
+        return Collections.unmodifiableList(importOrder);
+    }
+
     @Override
     public String sort(List<String> imports) {
         List<String> template = new ArrayList<>(importOrder);
@@ -129,17 +137,7 @@ public class ImportsSorter450 implements ImportsSorter {
     }
 
     private String getBestMatchingImportOrderItem(String anImport) {
-        String matchingImport = null;
-        for (String orderItem : allImportOrderItems) {
-            if (anImport.startsWith(orderItem)) {
-                if (matchingImport == null) {
-                    matchingImport = orderItem;
-                } else {
-                    matchingImport = ImportsUtils.betterMatching(matchingImport, orderItem, anImport);
-                }
-            }
-        }
-        return matchingImport;
+        return importOrderTrie.getBestMatching(anImport);
     }
 
     /**
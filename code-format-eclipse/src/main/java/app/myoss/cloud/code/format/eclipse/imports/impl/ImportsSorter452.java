@@ -43,6 +43,7 @@ import app.myoss.cloud.code.format.eclipse.utils.ImportsUtils;
 public class ImportsSorter452 implements ImportsSorter {
     private List<String>               importOrder         = new ArrayList<>();
     private Set<String>                allImportOrderItems = new HashSet<>();
+    private ImportOrderTrie            importOrderTrie;
     private Comparator<? super String> importsComparator;
 
     /**
@@ -58,6 +59,7 @@ public class ImportsSorter452 implements ImportsSorter {
         putStaticItemIfNotExists(importOrderCopy);
         this.importOrder.addAll(importOrderCopy);
         this.allImportOrderItems.addAll(importOrderCopy);
+        this.importOrderTrie = new ImportOrderTrie(allImportOrderItems, true);
     }
 
     /**
@@ -69,6 +71,11 @@ public class ImportsSorter452 implements ImportsSorter {
         this(null, comparator);
     }
 
+    @Override
+    public List<String> getImportOrder() {
+        return Collections.unmodifiableList(importOrder);
+    }
+
     @Override
     public String sort(List<String> imports) {
         List<String> template = new ArrayList<>(importOrder);
@@ -167,19 +174,7 @@ public class ImportsSorter452 implements ImportsSorter {
     }
 
     private String getBestMatchingImportOrderItem(String anImport) {
-        String matchingImport = null;
-        for (String orderItem : allImportOrderItems) {
-            if (anImport.startsWith(
-                    // 4.5.1+ matches exact package name
-                    "static ".equals(orderItem) || "".equals(orderItem) ? orderItem : orderItem + ".")) {
-                if (matchingImport == null) {
-                    matchingImport = orderItem;
-                } else {
-                    matchingImport = ImportsUtils.betterMatching(matchingImport, orderItem, anImport);
-                }
-            }
-        }
-        return matchingImport;
+        return importOrderTrie.getBestMatching(anImport);
     }
 
     /**
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports.impl;
+
+import java.util.List;
+
+import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
+
+/**
+ * Java import代码格式化工具的类型，用于根据配置创建 {@link ImportsSorter}
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午11:52:16
+ */
+public enum ImportsSorterType {
+    /**
+     * {@link ImportsSorter452}，默认使用的 import 排序方式
+     */
+    ECLIPSE_452 {
+        @Override
+        public ImportsSorter create(List<String> importOrder) {
+            return new ImportsSorter452(importOrder, new ImportsComparator());
+        }
+    },
+    /**
+     * {@link ImportsSorter450}
+     */
+    ECLIPSE_450 {
+        @Override
+        public ImportsSorter create(List<String> importOrder) {
+            return new ImportsSorter450(importOrder);
+        }
+    };
+
+    /**
+     * 创建Java import代码格式化工具
+     *
+     * @param importOrder import 排序规则，为 null 时使用
+     *            {@link ImportsSorter#defaultOrder()}
+     * @return Java import代码格式化工具
+     */
+    public abstract ImportsSorter create(List<String> importOrder);
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.metrics;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+
+/**
+ * 格式化过程的监听器，接收每个文件每个阶段的耗时和处理的字符数，通过
+ * {@link JavaCodeFormatter#setFormatListener(FormatListener)} 注册；没有注册监听器时不会调用
+ * {@link System#nanoTime()}，不会有额外的开销
+ * <p>
+ * 通过 {@link JavaCodeFormatter#copy()}
+ * 复制的格式化工具会共用同一个监听器，实现类需要是线程安全的，并且尽量轻量，不要在回调中执行耗时的操作
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:08:37
+ * @see HistogramFormatListener
+ */
+public interface FormatListener {
+    /**
+     * 一个阶段执行完成
+     *
+     * @param filePath 文件路径，通过
+     *            {@link JavaCodeFormatter#formatText(StringBuilder)} 格式化时为 null
+     * @param phase 阶段
+     * @param durationNanos 耗时（纳秒）
+     * @param length 这个阶段处理的字符数
+     */
+    void phaseCompleted(String filePath, FormatPhase phase, long durationNanos, long length);
+
+    /**
+     * 一个文件格式化完成（包括格式化失败、跳过已经格式化过的文件），只有
+     * {@link JavaCodeFormatter#formatFile(String)} 会触发
+     *
+     * @param filePath 文件路径
+     * @param durationNanos 总耗时（纳秒）
+     * @param length 文件的字符数，超过大小限制时为文件的字节数
+     * @param success true: 格式化成功（包括跳过的文件），与
+     *            {@link FileFormatResult#isSuccess()} 一致; false:
+     *            格式化失败、超时、超过大小限制或者被取消
+     */
+    default void fileCompleted(String filePath, long durationNanos, long length, boolean success) {
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.metrics;
+
+/**
+ * 格式化一个文件的各个阶段
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:05:12
+ */
+public enum FormatPhase {
+    /**
+     * 读取文件
+     */
+    READ,
+    /**
+     * 扫描文件头部，查找 import 代码块
+     */
+    IMPORT_SCAN,
+    /**
+     * import 排序
+     */
+    IMPORT_SORT,
+    /**
+     * eclipse 格式化，计算需要替换的内容
+     */
+    FORMAT,
+    /**
+     * 将格式化的结果应用到原内容上
+     */
+    APPLY_EDIT,
+    /**
+     * 移除行尾空格
+     */
+    STRIP_TRAILING_SPACES,
+    /**
+     * 写入文件
+     */
+    WRITE
+}
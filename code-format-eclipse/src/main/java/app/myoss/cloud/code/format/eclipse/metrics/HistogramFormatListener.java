@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 默认的格式化过程监听器，按阶段汇总耗时直方图，可以一直开启，用于发现性能退化和格式化特别慢的文件
+ *
+ * <pre>
+ * HistogramFormatListener listener = new HistogramFormatListener();
+ * formatter.setFormatListener(listener);
+ * formatter.formatDirectory(directory, parallelism);
+ * log.info("{}", listener.report());
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:21:48
+ */
+public class HistogramFormatListener implements FormatListener {
+    private final Map<FormatPhase, LatencyHistogram> phases = new EnumMap<>(FormatPhase.class);
+    private final LatencyHistogram                   files  = new LatencyHistogram();
+    private final LatencyHistogram                   failed = new LatencyHistogram();
+
+    /**
+     * 创建默认的格式化过程监听器
+     */
+    public HistogramFormatListener() {
+        for (FormatPhase phase : FormatPhase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void phaseCompleted(String filePath, FormatPhase phase, long durationNanos, long length) {
+        phases.get(phase).record(filePath, durationNanos, length);
+    }
+
+    @Override
+    public void fileCompleted(String filePath, long durationNanos, long length, boolean success) {
+        (success ? files : failed).record(filePath, durationNanos, length);
+    }
+
+    /**
+     * 获取一个阶段的耗时直方图
+     *
+     * @param phase 阶段
+     * @return 耗时直方图
+     */
+    public LatencyHistogram getPhase(FormatPhase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * 获取格式化成功的文件的总耗时直方图
+     *
+     * @return 耗时直方图
+     */
+    public LatencyHistogram getFiles() {
+        return files;
+    }
+
+    /**
+     * 获取格式化失败的文件的总耗时直方图
+     *
+     * @return 耗时直方图
+     */
+    public LatencyHistogram getFailed() {
+        return failed;
+    }
+
+    /**
+     * 输出所有阶段的统计信息，每个阶段一行，没有执行过的阶段不输出
+     *
+     * @return 统计信息
+     */
+    public String report() {
+        StringBuilder builder = new StringBuilder("format statistics:");
+        builder.append("\n  files: ").append(files);
+        if (failed.getCount() > 0) {
+            builder.append("\n  failed: ").append(failed);
+        }
+        for (Entry<FormatPhase, LatencyHistogram> entry : phases.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                builder.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+}
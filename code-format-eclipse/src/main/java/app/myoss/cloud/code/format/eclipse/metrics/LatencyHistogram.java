@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时直方图，按 2 的幂次划分桶（第 i 个桶记录 [2^(i-1), 2^i) 纳秒，第 0 个桶记录
+ * 0），记录时只有几次原子操作，可以在多个线程中同时记录
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:14:20
+ */
+public class LatencyHistogram {
+    private static final int      BUCKETS     = 64;
+    private final AtomicLongArray buckets     = new AtomicLongArray(BUCKETS);
+    private final LongAdder       count       = new LongAdder();
+    private final LongAdder       totalNanos  = new LongAdder();
+    private final LongAdder       totalLength = new LongAdder();
+    private volatile long         maxNanos;
+    private volatile String       maxFilePath;
+
+    /**
+     * 记录一次耗时
+     *
+     * @param filePath 文件路径，用于记录最慢的文件
+     * @param durationNanos 耗时（纳秒）
+     * @param length 处理的字符数
+     */
+    public void record(String filePath, long durationNanos, long length) {
+        long nanos = Math.max(durationNanos, 0L);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        totalLength.add(length);
+        if (nanos > maxNanos) {
+            synchronized (this) {
+                if (nanos > maxNanos) {
+                    maxNanos = nanos;
+                    maxFilePath = filePath;
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录的次数
+     *
+     * @return 次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 总耗时（纳秒）
+     *
+     * @return 总耗时
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 处理的总字符数
+     *
+     * @return 总字符数
+     */
+    public long getTotalLength() {
+        return totalLength.sum();
+    }
+
+    /**
+     * 最大耗时（纳秒）
+     *
+     * @return 最大耗时
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * 耗时最大的文件
+     *
+     * @return 文件路径，没有记录或者通过 formatText 格式化时为 null
+     */
+    public String getMaxFilePath() {
+        return maxFilePath;
+    }
+
+    /**
+     * 估算耗时的百分位数，返回所在桶的上限，误差在 2 倍以内
+     *
+     * @param percentile 百分位，比如：0.5、0.99
+     * @return 耗时（纳秒），没有记录时返回 0
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max((long) Math.ceil(total * Math.min(Math.max(percentile, 0.0), 1.0)), 1L);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long upperBound = (i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(upperBound, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        long n = getCount();
+        return String.format("count=%d, total=%dms, avg=%dus, p50=%dus, p99=%dus, max=%dus, chars=%d, slowest=%s", n,
+                TimeUnit.NANOSECONDS.toMillis(getTotalNanos()),
+                (n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(getTotalNanos() / n)),
+                TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(0.5)),
+                TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(0.99)), TimeUnit.NANOSECONDS.toMicros(maxNanos),
+                getTotalLength(), maxFilePath);
+    }
+}
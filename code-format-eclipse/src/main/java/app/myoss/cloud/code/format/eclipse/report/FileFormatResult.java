@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.report;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 单个文件的格式化结果
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午12:06:54
+ */
+@Getter
+@ToString
+public class FileFormatResult {
+    /**
+     * 文件路径
+     */
+    private final String           filePath;
+    /**
+     * 格式化状态
+     */
+    private final FileFormatStatus status;
+    /**
+     * 耗时（纳秒），包括读取和写入文件
+     */
+    private final long             durationNanos;
+    /**
+     * 格式化之前的字符数，超过大小限制时为文件的字节数
+     */
+    private final long             inputLength;
+    /**
+     * 格式化之后的字符数，没有格式化（跳过、失败、超时等）时和格式化之前相同
+     */
+    private final long             outputLength;
+    /**
+     * 被改写的字符数：去掉格式化前后相同的开头和结尾之后，剩余部分的长度
+     */
+    private final long             changedLength;
+    /**
+     * 格式化失败的异常类名
+     */
+    private final String           exceptionType;
+    /**
+     * 格式化失败的异常信息
+     */
+    private final String           exceptionMessage;
+
+    /**
+     * 单个文件的格式化结果
+     *
+     * @param filePath 文件路径
+     * @param status 格式化状态
+     * @param durationNanos 耗时（纳秒）
+     * @param inputLength 格式化之前的字符数
+     * @param outputLength 格式化之后的字符数
+     * @param changedLength 被改写的字符数
+     * @param exception 格式化失败的异常，成功时为 null
+     */
+    public FileFormatResult(String filePath, FileFormatStatus status, long durationNanos, long inputLength,
+                            long outputLength, long changedLength, Throwable exception) {
+        this.filePath = filePath;
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.inputLength = inputLength;
+        this.outputLength = outputLength;
+        this.changedLength = changedLength;
+        this.exceptionType = (exception != null ? exception.getClass().getName() : null);
+        this.exceptionMessage = (exception != null ? exception.getMessage() : null);
+    }
+
+    /**
+     * 是否格式化成功（包括跳过的文件）
+     *
+     * @return true: 格式化成功; false: 格式化失败
+     */
+    public boolean isSuccess() {
+        return status == FileFormatStatus.CHANGED || status == FileFormatStatus.UNCHANGED
+                || status == FileFormatStatus.SKIPPED;
+    }
+
+    /**
+     * 格式化失败的原因，用于输出错误信息，比如：FAILED java.lang.IllegalStateException: broken source
+     *
+     * @return 失败的原因，格式化成功时为 null
+     */
+    public String describeFailure() {
+        if (isSuccess()) {
+            return null;
+        }
+        if (exceptionType == null) {
+            return status.name();
+        }
+        return status + " " + exceptionType + (exceptionMessage != null ? ": " + exceptionMessage : "");
+    }
+
+    /**
+     * 计算被改写的字符数：去掉相同的开头和结尾之后，剩余部分的长度（取两者中较长的）
+     *
+     * @param source 格式化之前的内容
+     * @param formatted 格式化之后的内容
+     * @return 被改写的字符数，内容相同时返回 0
+     */
+    public static long changedLength(CharSequence source, CharSequence formatted) {
+        int sourceLength = source.length();
+        int formattedLength = formatted.length();
+        int minLength = Math.min(sourceLength, formattedLength);
+        int prefix = 0;
+        while (prefix < minLength && source.charAt(prefix) == formatted.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == sourceLength && prefix == formattedLength) {
+            return 0;
+        }
+        int suffix = 0;
+        while (suffix < minLength - prefix
+                && source.charAt(sourceLength - 1 - suffix) == formatted.charAt(formattedLength - 1 - suffix)) {
+            suffix++;
+        }
+        return Math.max(sourceLength, formattedLength) - prefix - suffix;
+    }
+}
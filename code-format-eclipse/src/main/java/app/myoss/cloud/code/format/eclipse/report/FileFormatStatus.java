@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.report;
+
+/**
+ * 单个文件的格式化状态
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午12:02:31
+ */
+public enum FileFormatStatus {
+    /**
+     * 格式化之后内容发生变化，重新写入了文件；只检查时表示文件还没有格式化，不会写入文件
+     */
+    CHANGED,
+    /**
+     * 格式化之后内容没有变化，没有写入文件
+     */
+    UNCHANGED,
+    /**
+     * 格式化结果缓存中记录文件已经格式化过，跳过
+     */
+    SKIPPED,
+    /**
+     * 格式化失败，文件保持不变
+     */
+    FAILED,
+    /**
+     * 格式化超时被放弃，文件保持不变
+     */
+    TIMED_OUT,
+    /**
+     * 文件超过了大小限制，没有格式化
+     */
+    TOO_LARGE,
+    /**
+     * 格式化任务被取消，文件保持不变
+     */
+    CANCELLED
+}
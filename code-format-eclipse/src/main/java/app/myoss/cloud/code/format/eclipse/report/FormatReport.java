@@ -0,0 +1,320 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.Getter;
+
+/**
+ * 格式化报告，记录每个文件的格式化结果和汇总信息，可以导出为 JSON，用于在 CI 中跟踪格式化的吞吐量，找出最慢的文件、改写最多的文件和最常见的失败原因
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午12:14:08
+ */
+@Getter
+public class FormatReport {
+    /**
+     * 格式化的根目录
+     */
+    private final String                 directory;
+    /**
+     * 总耗时（纳秒），并行格式化时小于所有文件耗时之和
+     */
+    private final long                   durationNanos;
+    /**
+     * 所有文件耗时之和（纳秒）
+     */
+    private final long                   totalFileNanos;
+    /**
+     * 文件数量
+     */
+    private final int                    fileCount;
+    /**
+     * 内容发生变化的文件数量
+     */
+    private final int                    changedCount;
+    /**
+     * 内容没有变化的文件数量
+     */
+    private final int                    unchangedCount;
+    /**
+     * 跳过的文件数量
+     */
+    private final int                    skippedCount;
+    /**
+     * 格式化失败的文件数量
+     */
+    private final int                    failedCount;
+    /**
+     * 格式化超时的文件数量
+     */
+    private final int                    timedOutCount;
+    /**
+     * 超过大小限制的文件数量
+     */
+    private final int                    tooLargeCount;
+    /**
+     * 被取消的文件数量
+     */
+    private final int                    cancelledCount;
+    /**
+     * 格式化之前的总字符数
+     */
+    private final long                   inputLength;
+    /**
+     * 格式化之后的总字符数
+     */
+    private final long                   outputLength;
+    /**
+     * 被改写的总字符数
+     */
+    private final long                   changedLength;
+    /**
+     * 格式化失败的异常类名和出现次数，按出现次数从多到少排序
+     */
+    private final Map<String, Long>      failureTypes;
+    /**
+     * 每个文件的格式化结果，顺序与遍历文件的顺序一致
+     */
+    private final List<FileFormatResult> files;
+
+    /**
+     * 格式化报告
+     *
+     * @param directory 格式化的根目录
+     * @param durationNanos 总耗时（纳秒）
+     * @param files 每个文件的格式化结果
+     */
+    public FormatReport(String directory, long durationNanos, List<FileFormatResult> files) {
+        this.directory = directory;
+        this.durationNanos = durationNanos;
+        this.files = Collections.unmodifiableList(new ArrayList<>(files));
+        long fileNanos = 0;
+        long input = 0;
+        long output = 0;
+        long changed = 0;
+        int[] counts = new int[FileFormatStatus.values().length];
+        Map<String, Long> failures = new TreeMap<>();
+        for (FileFormatResult file : files) {
+            fileNanos += file.getDurationNanos();
+            input += file.getInputLength();
+            output += file.getOutputLength();
+            changed += file.getChangedLength();
+            counts[file.getStatus().ordinal()]++;
+            if (file.getExceptionType() != null) {
+                failures.merge(file.getExceptionType(), 1L, Long::sum);
+            }
+        }
+        this.totalFileNanos = fileNanos;
+        this.fileCount = files.size();
+        this.changedCount = counts[FileFormatStatus.CHANGED.ordinal()];
+        this.unchangedCount = counts[FileFormatStatus.UNCHANGED.ordinal()];
+        this.skippedCount = counts[FileFormatStatus.SKIPPED.ordinal()];
+        this.failedCount = counts[FileFormatStatus.FAILED.ordinal()];
+        this.timedOutCount = counts[FileFormatStatus.TIMED_OUT.ordinal()];
+        this.tooLargeCount = counts[FileFormatStatus.TOO_LARGE.ordinal()];
+        this.cancelledCount = counts[FileFormatStatus.CANCELLED.ordinal()];
+        this.inputLength = input;
+        this.outputLength = output;
+        this.changedLength = changed;
+        this.failureTypes = Collections.unmodifiableMap(
+                failures.entrySet().stream().sorted((o1, o2) -> Long.compare(o2.getValue(), o1.getValue())).collect(
+                        Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)));
+    }
+
+    /**
+     * 每秒格式化的文件数量
+     *
+     * @return 每秒格式化的文件数量
+     */
+    public double getFilesPerSecond() {
+        return (durationNanos > 0 ? fileCount * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos : 0);
+    }
+
+    /**
+     * 获取耗时最长的文件
+     *
+     * @param limit 最多返回的文件数量
+     * @return 按耗时从长到短排序的文件
+     */
+    public List<FileFormatResult> slowestFiles(int limit) {
+        return top(Comparator.comparingLong(FileFormatResult::getDurationNanos), limit);
+    }
+
+    /**
+     * 获取被改写字符数最多的文件
+     *
+     * @param limit 最多返回的文件数量
+     * @return 按被改写的字符数从多到少排序的文件
+     */
+    public List<FileFormatResult> largestRewrites(int limit) {
+        return top(Comparator.comparingLong(FileFormatResult::getChangedLength), limit);
+    }
+
+    /**
+     * 获取没有格式化成功的文件，包括格式化失败、超时、超过大小限制、被取消的文件
+     *
+     * @return 没有格式化成功的文件
+     */
+    public List<FileFormatResult> failedFiles() {
+        return files.stream().filter(file -> !file.isSuccess()).collect(Collectors.toList());
+    }
+
+    private List<FileFormatResult> top(Comparator<FileFormatResult> comparator, int limit) {
+        return files.stream().sorted(comparator.reversed()).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * 转换为 JSON，字段固定，直接拼接字符串，不依赖 JSON 库
+     *
+     * @return JSON 字符串
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512 + files.size() * 256);
+        json.append('{');
+        appendName(json, "directory", false);
+        appendString(json, directory);
+        appendName(json, "durationNanos", true).append(durationNanos);
+        appendName(json, "totalFileNanos", true).append(totalFileNanos);
+        appendName(json, "fileCount", true).append(fileCount);
+        appendName(json, "changedCount", true).append(changedCount);
+        appendName(json, "unchangedCount", true).append(unchangedCount);
+        appendName(json, "skippedCount", true).append(skippedCount);
+        appendName(json, "failedCount", true).append(failedCount);
+        appendName(json, "timedOutCount", true).append(timedOutCount);
+        appendName(json, "tooLargeCount", true).append(tooLargeCount);
+        appendName(json, "cancelledCount", true).append(cancelledCount);
+        appendName(json, "inputLength", true).append(inputLength);
+        appendName(json, "outputLength", true).append(outputLength);
+        appendName(json, "changedLength", true).append(changedLength);
+        appendName(json, "filesPerSecond", true).append(getFilesPerSecond());
+        appendName(json, "failureTypes", true).append('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : failureTypes.entrySet()) {
+            appendName(json, entry.getKey(), !first).append(entry.getValue());
+            first = false;
+        }
+        json.append('}');
+        appendName(json, "files", true).append('[');
+        for (int i = 0; i < files.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendFile(json, files.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendFile(StringBuilder json, FileFormatResult file) {
+        json.append('{');
+        appendName(json, "filePath", false);
+        appendString(json, file.getFilePath());
+        appendName(json, "status", true);
+        appendString(json, file.getStatus().name());
+        appendName(json, "success", true).append(file.isSuccess());
+        appendName(json, "durationNanos", true).append(file.getDurationNanos());
+        appendName(json, "inputLength", true).append(file.getInputLength());
+        appendName(json, "outputLength", true).append(file.getOutputLength());
+        appendName(json, "changedLength", true).append(file.getChangedLength());
+        appendName(json, "exceptionType", true);
+        appendString(json, file.getExceptionType());
+        appendName(json, "exceptionMessage", true);
+        appendString(json, file.getExceptionMessage());
+        json.append('}');
+    }
+
+    private static StringBuilder appendName(StringBuilder json, String name, boolean separator) {
+        if (separator) {
+            json.append(',');
+        }
+        appendString(json, name);
+        return json.append(':');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * 将 JSON 写入文件
+     *
+     * @param file 文件路径
+     */
+    public void writeJson(Path file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        } catch (IOException ex) {
+            throw new BizRuntimeException("write format report: " + file, ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "format directory: %s, files: %d, changed: %d, unchanged: %d, skipped: %d, failed: %d, "
+                        + "timed out: %d, too large: %d, cancelled: %d, time: %dms, %.1f files/s",
+                directory, fileCount, changedCount, unchangedCount, skippedCount, failedCount, timedOutCount,
+                tooLargeCount, cancelledCount, TimeUnit.NANOSECONDS.toMillis(durationNanos), getFilesPerSecond());
+    }
+}
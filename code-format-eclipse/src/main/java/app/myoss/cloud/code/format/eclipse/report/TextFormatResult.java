@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.report;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 单段 Java 代码（不对应文件）的格式化结果，比如代码生成工具在内存中生成的代码
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:48:37
+ */
+@Getter
+@ToString(exclude = "formatted")
+public class TextFormatResult {
+    /**
+     * 代码的名称，比如类名，只用于区分不同的代码，可以为 null
+     */
+    private final String           name;
+    /**
+     * 格式化状态，只会是
+     * {@link FileFormatStatus#CHANGED}、{@link FileFormatStatus#UNCHANGED}、
+     * {@link FileFormatStatus#FAILED}、{@link FileFormatStatus#TIMED_OUT}、{@link FileFormatStatus#CANCELLED}
+     */
+    private final FileFormatStatus status;
+    /**
+     * 耗时（纳秒）
+     */
+    private final long             durationNanos;
+    /**
+     * 格式化之前的字符数
+     */
+    private final long             inputLength;
+    /**
+     * 格式化之后的内容，没有格式化（失败、超时等）时和格式化之前相同
+     */
+    private final String           formatted;
+    /**
+     * 格式化失败的异常类名
+     */
+    private final String           exceptionType;
+    /**
+     * 格式化失败的异常信息
+     */
+    private final String           exceptionMessage;
+
+    /**
+     * 单段 Java 代码的格式化结果
+     *
+     * @param name 代码的名称
+     * @param status 格式化状态
+     * @param durationNanos 耗时（纳秒）
+     * @param inputLength 格式化之前的字符数
+     * @param formatted 格式化之后的内容
+     * @param exception 格式化失败的异常，成功时为 null
+     */
+    public TextFormatResult(String name, FileFormatStatus status, long durationNanos, long inputLength,
+                            String formatted, Throwable exception) {
+        this.name = name;
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.inputLength = inputLength;
+        this.formatted = formatted;
+        this.exceptionType = (exception != null ? exception.getClass().getName() : null);
+        this.exceptionMessage = (exception != null ? exception.getMessage() : null);
+    }
+
+    /**
+     * 是否格式化成功
+     *
+     * @return true: 格式化成功; false: 格式化失败
+     */
+    public boolean isSuccess() {
+        return status == FileFormatStatus.CHANGED || status == FileFormatStatus.UNCHANGED;
+    }
+
+    /**
+     * 格式化失败的原因，用于输出错误信息，比如：FAILED java.lang.IllegalStateException: broken source
+     *
+     * @return 失败的原因，格式化成功时为 null
+     */
+    public String describeFailure() {
+        if (isSuccess()) {
+            return null;
+        }
+        if (exceptionType == null) {
+            return status.name();
+        }
+        return status + " " + exceptionType + (exceptionMessage != null ? ": " + exceptionMessage : "");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 原子写入文件，参考
+ * {@link FileUtils#writeFileAtomically(Path, CharSequence, Charset, boolean)}，多个线程可以共用同一个实例。
+ * 需要持久化时，每个文件在重命名之前 fsync 临时文件，重命名之后的文件夹在 {@link #flush()} 中批量
+ * fsync，同一个文件夹中的多个文件只需要 fsync 一次文件夹
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午5:06:23
+ */
+public class AtomicFileWriter {
+    private final boolean   durable;
+    private final Set<Path> pendingDirectories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 原子写入文件
+     *
+     * @param durable 是否需要持久化，为 true 时需要在写入完成之后调用 {@link #flush()}
+     */
+    public AtomicFileWriter(boolean durable) {
+        this.durable = durable;
+    }
+
+    /**
+     * 原子写入文件内容，需要持久化时文件内容在重命名之前已经 fsync，写入失败（包括 fsync 失败）时原文件保持不变
+     *
+     * @param file 文件路径
+     * @param content 文件内容
+     * @param charset 文件编码
+     */
+    public void write(Path file, CharSequence content, Charset charset) {
+        Path target = FileUtils.writeFileAtomically(file, content, charset, durable);
+        if (durable) {
+            pendingDirectories.add(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * 持久化上次调用之后写入过文件的文件夹（fsync），保证重命名也被持久化；不需要持久化时什么都不做
+     *
+     * @return fsync 的文件夹数量
+     */
+    public int flush() {
+        int count = 0;
+        for (Iterator<Path> iterator = pendingDirectories.iterator(); iterator.hasNext();) {
+            Path directory = iterator.next();
+            iterator.remove();
+            FileUtils.syncDirectory(directory);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 是否需要持久化
+     *
+     * @return true: 需要持久化
+     */
+    public boolean isDurable() {
+        return durable;
+    }
+}
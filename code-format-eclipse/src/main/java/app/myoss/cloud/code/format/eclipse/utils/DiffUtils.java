@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import app.myoss.cloud.code.format.eclipse.LineRange;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * unified diff 解析工具类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:52:09
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DiffUtils {
+    /**
+     * 匹配 hunk 头，比如：@@ -10,7 +10,8 @@
+     */
+    public static final Pattern HUNK_HEADER = Pattern.compile("^@@ -\\d+(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+
+    /**
+     * 解析 unified diff（比如：git diff -U0 的输出），获取每个文件中新增/修改的代码行号范围，删除的文件不会出现在结果中；根据
+     * hunk 头中的行数判断 hunk 是否结束，hunk 中以 "++ " 或者 "-- " 开头的代码行不会被当成文件头
+     *
+     * @param unifiedDiff unified diff 内容
+     * @return key: 文件路径（去掉 "b/" 前缀）; value: 新增/修改的代码行号范围
+     */
+    public static Map<String, List<LineRange>> parseChangedLines(String unifiedDiff) {
+        Map<String, List<LineRange>> result = new LinkedHashMap<>();
+        List<LineRange> ranges = null;
+        int line = 0;
+        int rangeStart = -1;
+        // 当前 hunk 中剩余的旧文件、新文件的行数，都为0时表示不在 hunk 中
+        int oldRemaining = 0;
+        int newRemaining = 0;
+        for (String text : unifiedDiff.split("\r?\n")) {
+            if (oldRemaining > 0 || newRemaining > 0) {
+                if (text.startsWith("+")) {
+                    if (rangeStart == -1) {
+                        rangeStart = line;
+                    }
+                    line++;
+                    newRemaining--;
+                } else if (text.startsWith("-")) {
+                    // 删除的行不会占用新文件的行号，不影响当前的范围
+                    oldRemaining--;
+                } else if (!text.startsWith("\\")) {
+                    addRange(ranges, rangeStart, line - 1);
+                    rangeStart = -1;
+                    line++;
+                    oldRemaining--;
+                    newRemaining--;
+                }
+                continue;
+            }
+            addRange(ranges, rangeStart, line - 1);
+            rangeStart = -1;
+            if (text.startsWith("+++ ")) {
+                String path = text.substring(4).trim();
+                int tab = path.indexOf('\t');
+                if (tab > -1) {
+                    path = path.substring(0, tab);
+                }
+                if ("/dev/null".equals(path)) {
+                    ranges = null;
+                    continue;
+                }
+                ranges = result.computeIfAbsent(path.startsWith("b/") ? path.substring(2) : path,
+                        key -> new ArrayList<>());
+                continue;
+            }
+            Matcher matcher = HUNK_HEADER.matcher(text);
+            if (matcher.find()) {
+                oldRemaining = (matcher.group(1) != null ? Integer.parseInt(matcher.group(1)) : 1);
+                line = Integer.parseInt(matcher.group(2));
+                newRemaining = (matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 1);
+            }
+        }
+        addRange(ranges, rangeStart, line - 1);
+        result.values().removeIf(List::isEmpty);
+        return result;
+    }
+
+    private static void addRange(List<LineRange> ranges, int startLine, int endLine) {
+        if (ranges != null && startLine > 0 && endLine >= startLine) {
+            ranges.add(new LineRange(startLine, endLine));
+        }
+    }
+}
@@ -17,18 +17,32 @@
 
 package app.myoss.cloud.code.format.eclipse.utils;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import app.myoss.cloud.core.exception.BizRuntimeException;
 
@@ -40,7 +54,14 @@ import app.myoss.cloud.core.exception.BizRuntimeException;
  */
 public class FileUtils {
     /**
-     * 读取 Eclipse 代码格式化规则文件，转换为 properties
+     * 读取输入流、写入文件时使用的缓冲区大小
+     */
+    public static final int              BUFFER_SIZE       = 8192;
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * 读取 Eclipse 代码格式化规则文件，转换为 properties，读取结果会被缓存，参考
+     * {@link FormatterProfileCache}
      *
      * @param formatConfigFile EclipseCodeFormatter 格式化规则文件路径
      * @param formatConfigFileProfile EclipseCodeFormatter 格式化规则文件中的 name
@@ -48,16 +69,12 @@ public class FileUtils {
      * @return 格式化规则属性配置
      */
     public static Properties readXmlJavaSettingsFile(URL formatConfigFile, String formatConfigFileProfile) {
-        Properties properties = new Properties();
-        try (InputStream inputStream = formatConfigFile.openStream()) {
-            return readXmlJavaSettingsFile(inputStream, properties, formatConfigFileProfile);
-        } catch (IOException ex) {
-            throw new BizRuntimeException("read file: " + formatConfigFile, ex);
-        }
+        return toProperties(FormatterProfileCache.get(formatConfigFile, formatConfigFileProfile));
     }
 
     /**
-     * 读取 Eclipse 代码格式化规则文件，转换为 properties
+     * 读取 Eclipse 代码格式化规则文件，转换为 properties，读取结果会被缓存，参考
+     * {@link FormatterProfileCache}
      *
      * @param formatConfigFile EclipseCodeFormatter 格式化规则文件路径
      * @param formatConfigFileProfile EclipseCodeFormatter 格式化规则文件中的 name
@@ -65,13 +82,7 @@ public class FileUtils {
      * @return 格式化规则属性配置
      */
     public static Properties readXmlJavaSettingsFile(String formatConfigFile, String formatConfigFileProfile) {
-        Properties properties = new Properties();
-        File file = new File(formatConfigFile);
-        try (InputStream inputStream = new FileInputStream(file)) {
-            return readXmlJavaSettingsFile(inputStream, properties, formatConfigFileProfile);
-        } catch (IOException ex) {
-            throw new BizRuntimeException("read file: " + formatConfigFile, ex);
-        }
+        return toProperties(FormatterProfileCache.get(Paths.get(formatConfigFile), formatConfigFileProfile));
     }
 
     /**
@@ -84,53 +95,218 @@ public class FileUtils {
      */
     public static Properties readXmlJavaSettingsFile(InputStream file, Properties properties, String profile) {
         int defaultSize = properties.size();
+        properties.putAll(readXmlJavaSettings(file, profile));
+        if (properties.size() == defaultSize) {
+            throw new IllegalStateException("no properties loaded, something is broken, file:");
+        }
+        return properties;
+    }
+
+    /**
+     * 使用 StAX 流式读取 Eclipse 代码格式化规则文件，读取完指定的 profile 之后立即停止，不会解析剩余的内容
+     *
+     * @param file EclipseCodeFormatter 格式化规则文件
+     * @param profile EclipseCodeFormatter 格式化规则文件中的 name 属性，具体使用哪个 profile
+     * @return 格式化规则属性配置
+     */
+    public static Map<String, String> readXmlJavaSettings(InputStream file, String profile) {
         if (profile == null) {
             throw new IllegalStateException("no profile selected, go to settings and select proper settings file");
         }
+        Map<String, String> settings = new LinkedHashMap<>();
+        boolean anyProfile = false;
         boolean profileFound = false;
         try {
-            // load file profiles
-            org.w3c.dom.Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
-            doc.getDocumentElement().normalize();
-
-            NodeList profiles = doc.getElementsByTagName("profile");
-            if (profiles.getLength() == 0) {
-                throw new IllegalStateException(
-                        "loading of profile settings failed, file does not contain any profiles");
-            }
-            for (int temp = 0; temp < profiles.getLength(); temp++) {
-                Node profileNode = profiles.item(temp);
-                if (profileNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element profileElement = (Element) profileNode;
-                    String name = profileElement.getAttribute("name");
-                    if (profile.equals(name)) {
-                        profileFound = true;
-                        NodeList childNodes = profileElement.getElementsByTagName("setting");
-                        if (childNodes.getLength() == 0) {
-                            throw new IllegalStateException(
-                                    "loading of profile settings failed, profile has no settings elements");
-                        }
-                        for (int i = 0; i < childNodes.getLength(); i++) {
-                            Node item = childNodes.item(i);
-                            if (item.getNodeType() == Node.ELEMENT_NODE) {
-                                Element attributeItem = (Element) item;
-                                String id = attributeItem.getAttribute("id");
-                                String value = attributeItem.getAttribute("value");
-                                properties.setProperty(id.trim(), value.trim());
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(file);
+            try {
+                // profile 内部元素的层级，-1 表示不在 profile 中
+                int depth = -1;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if (depth >= 0) {
+                            depth++;
+                            if ("setting".equals(name)) {
+                                settings.put(getAttribute(reader, "id").trim(), getAttribute(reader, "value").trim());
+                            }
+                        } else if ("profile".equals(name)) {
+                            anyProfile = true;
+                            if (profile.equals(getAttribute(reader, "name"))) {
+                                profileFound = true;
+                                depth = 0;
                             }
                         }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && depth >= 0) {
+                        if (depth == 0) {
+                            break;
+                        }
+                        depth--;
                     }
                 }
+            } finally {
+                reader.close();
             }
-        } catch (Exception ex) {
+        } catch (XMLStreamException ex) {
             throw new IllegalStateException(ex.getMessage(), ex);
         }
+        if (!anyProfile) {
+            throw new IllegalStateException("loading of profile settings failed, file does not contain any profiles");
+        }
         if (!profileFound) {
             throw new IllegalStateException("profile not found in the file " + file);
         }
-        if (properties.size() == defaultSize) {
-            throw new IllegalStateException("no properties loaded, something is broken, file:");
+        if (settings.isEmpty()) {
+            throw new IllegalStateException("loading of profile settings failed, profile has no settings elements");
         }
+        return settings;
+    }
+
+    private static String getAttribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return (value != null ? value : "");
+    }
+
+    private static Properties toProperties(Map<String, String> settings) {
+        Properties properties = new Properties();
+        properties.putAll(settings);
         return properties;
     }
+
+    /**
+     * 读取文件内容，直接将文件的字节解码为字符串，不经过额外的缓冲区复制
+     *
+     * @param file 文件路径
+     * @param charset 文件编码
+     * @return 文件内容
+     */
+    public static String readFile(Path file, Charset charset) {
+        try {
+            return new String(Files.readAllBytes(file), charset);
+        } catch (IOException ex) {
+            throw new BizRuntimeException("read file: " + file, ex);
+        }
+    }
+
+    /**
+     * 读取输入流中剩余的所有字节，比如标准输入、子进程的输出，不会关闭输入流
+     *
+     * @param in 输入流
+     * @return 读取的字节
+     * @throws IOException 读取失败
+     */
+    public static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] bytes = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(bytes)) != -1) {
+            buffer.write(bytes, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 原子写入文件内容：先写入同一个文件夹中的临时文件，再重命名覆盖原文件，写入过程中进程被终止时原文件保持不变；
+     * 临时文件会复制原文件的权限，文件是符号链接时写入链接指向的文件，文件不存在时直接写入
+     *
+     * @param file 文件路径
+     * @param content 文件内容
+     * @param charset 文件编码
+     * @param sync 重命名之前是否 fsync 临时文件（文件不存在时 fsync 新写入的文件），保证重命名之后的文件内容已经持久化；
+     *            重命名本身还需要 fsync 文件夹才能持久化，需要批量持久化时使用 {@link AtomicFileWriter}
+     * @return 实际写入的文件路径
+     */
+    public static Path writeFileAtomically(Path file, CharSequence content, Charset charset, boolean sync) {
+        Path temp = null;
+        try {
+            if (!Files.exists(file)) {
+                write(file, content, charset, sync, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                return file;
+            }
+            Path target = (Files.isSymbolicLink(file) ? file.toRealPath() : file.toAbsolutePath());
+            temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            write(temp, content, charset, sync, StandardOpenOption.WRITE);
+            copyPermissions(target, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            return target;
+        } catch (IOException ex) {
+            throw new BizRuntimeException("write file: " + file, ex);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ex) {
+                    // 忽略，不影响原文件
+                }
+            }
+        }
+    }
+
+    /**
+     * 将文件夹中的文件名变化（比如重命名）持久化到磁盘（fsync），不支持打开文件夹的系统（比如 Windows）会忽略
+     *
+     * @param directory 文件夹路径
+     */
+    public static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // Windows 不支持打开文件夹，重命名由文件系统保证
+        }
+    }
+
+    private static void write(Path file, CharSequence content, Charset charset, boolean sync, OpenOption... options)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            encode(channel, content, charset);
+            if (sync) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private static void encode(FileChannel channel, CharSequence content, Charset charset) throws IOException {
+        CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(
+                CodingErrorAction.REPLACE);
+        CharBuffer input = CharBuffer.wrap(content);
+        ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+        CoderResult result;
+        do {
+            result = encoder.encode(input, output, true);
+            writeFully(channel, output);
+        } while (result.isOverflow());
+        do {
+            result = encoder.flush(output);
+            writeFully(channel, output);
+        } while (result.isOverflow());
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        try {
+            Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+        } catch (UnsupportedOperationException ex) {
+            // 不支持 POSIX 权限的文件系统（比如 Windows）
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Eclipse 代码格式化规则缓存，按照"文件路径 + profile"缓存读取结果，文件的修改时间发生变化之后重新读取
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午5:18:24
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FormatterProfileCache {
+    private static final ConcurrentMap<String, CachedProfile> PROFILES = new ConcurrentHashMap<>();
+
+    /**
+     * 读取 Eclipse 代码格式化规则文件
+     *
+     * @param formatConfigFile EclipseCodeFormatter 格式化规则文件路径
+     * @param profile EclipseCodeFormatter 格式化规则文件中的 name 属性，具体使用哪个 profile
+     * @return 不可修改的格式化规则属性配置
+     */
+    public static Map<String, String> get(URL formatConfigFile, String profile) {
+        if ("file".equals(formatConfigFile.getProtocol())) {
+            try {
+                return get(Paths.get(formatConfigFile.toURI()), profile);
+            } catch (URISyntaxException | IllegalArgumentException ex) {
+                log.debug("not a local file, read it as url: {}", formatConfigFile);
+            }
+        }
+        String key = formatConfigFile.toExternalForm() + "\n" + profile;
+        try {
+            URLConnection connection = formatConfigFile.openConnection();
+            long lastModified = connection.getLastModified();
+            CachedProfile cached = PROFILES.get(key);
+            if (cached != null && cached.lastModified == lastModified) {
+                return cached.settings;
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                return put(key, lastModified, FileUtils.readXmlJavaSettings(inputStream, profile));
+            }
+        } catch (IOException ex) {
+            throw new BizRuntimeException("read file: " + formatConfigFile, ex);
+        }
+    }
+
+    /**
+     * 读取 Eclipse 代码格式化规则文件
+     *
+     * @param formatConfigFile EclipseCodeFormatter 格式化规则文件路径
+     * @param profile EclipseCodeFormatter 格式化规则文件中的 name 属性，具体使用哪个 profile
+     * @return 不可修改的格式化规则属性配置
+     */
+    public static Map<String, String> get(Path formatConfigFile, String profile) {
+        Path file = formatConfigFile.toAbsolutePath().normalize();
+        String key = file.toString() + "\n" + profile;
+        try {
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            CachedProfile cached = PROFILES.get(key);
+            if (cached != null && cached.lastModified == lastModified) {
+                return cached.settings;
+            }
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                return put(key, lastModified, FileUtils.readXmlJavaSettings(inputStream, profile));
+            }
+        } catch (IOException ex) {
+            throw new BizRuntimeException("read file: " + formatConfigFile, ex);
+        }
+    }
+
+    /**
+     * 缓存的 profile 数量
+     *
+     * @return profile 数量
+     */
+    public static int size() {
+        return PROFILES.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        PROFILES.clear();
+    }
+
+    private static Map<String, String> put(String key, long lastModified, Map<String, String> settings) {
+        CachedProfile cached = new CachedProfile(lastModified, Collections.unmodifiableMap(settings));
+        PROFILES.put(key, cached);
+        return cached.settings;
+    }
+
+    private static final class CachedProfile {
+        private final long                lastModified;
+        private final Map<String, String> settings;
+
+        private CachedProfile(long lastModified, Map<String, String> settings) {
+            this.lastModified = lastModified;
+            this.settings = settings;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import app.myoss.cloud.core.constants.MyossConstants;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * git 工具类，通过本地的 git 命令读取仓库的状态，不访问远程仓库
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午4:20:37
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GitUtils {
+    /**
+     * 查找文件夹中有变化的文件：相对于 ref 修改过的文件（包括已经提交、已经暂存和没有暂存的修改），以及没有被 .gitignore
+     * 忽略的新文件；删除的文件不会出现在结果中
+     *
+     * @param directory git 仓库中的文件夹，只返回这个文件夹中的文件
+     * @param ref 比较的分支、标签或者提交，比如：origin/master，与当前提交的共同祖先比较；为 null 时只查找还没有提交的修改
+     * @return 有变化的文件，顺序与 git 输出的顺序一致
+     */
+    public static List<Path> changedFiles(Path directory, String ref) {
+        String base;
+        if (ref != null) {
+            base = git(directory, "merge-base", ref, "HEAD").trim();
+        } else if (git(directory, true, "rev-parse", "--verify", "-q", "HEAD") != null) {
+            base = "HEAD";
+        } else {
+            // 还没有提交过的仓库，所有暂存的文件都是新文件
+            base = null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        if (base != null) {
+            names.addAll(split(git(directory, "diff", "--name-only", "-z", "--relative", "--diff-filter=ACMR", base)));
+        } else {
+            names.addAll(split(git(directory, "ls-files", "--cached", "-z")));
+        }
+        names.addAll(split(git(directory, "ls-files", "--others", "--exclude-standard", "-z")));
+        List<Path> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            Path file = directory.resolve(name);
+            if (Files.isRegularFile(file)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> split(String output) {
+        return Arrays.asList(StringUtils.split(output, '\0'));
+    }
+
+    private static String git(Path directory, String... args) {
+        return git(directory, false, args);
+    }
+
+    /**
+     * 执行 git 命令
+     *
+     * @param directory 执行命令的文件夹
+     * @param allowFailure 命令失败时是否返回 null，否则抛出异常
+     * @param args git 命令参数
+     * @return 标准输出的内容
+     */
+    private static String git(Path directory, boolean allowFailure, String... args) {
+        List<String> command = new ArrayList<>(args.length + 1);
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command).directory(directory.toFile()).start();
+            process.getOutputStream().close();
+            // git 的错误输出很短，先读取标准输出不会因为错误输出的缓冲区满而阻塞
+            String output = read(process.getInputStream());
+            String error = read(process.getErrorStream());
+            int exitCode = process.waitFor();
+            if (exitCode == 0) {
+                return output;
+            }
+            if (allowFailure) {
+                return null;
+            }
+            throw new BizRuntimeException(
+                    String.join(" ", command) + " failed, exit code: " + exitCode + ", " + error.trim());
+        } catch (IOException ex) {
+            throw new BizRuntimeException("execute " + String.join(" ", command) + " failed", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BizRuntimeException("execute " + String.join(" ", command) + " interrupted", ex);
+        }
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            return new String(FileUtils.readFully(in), MyossConstants.DEFAULT_CHARSET);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文本处理工具类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午1:36:52
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TextUtils {
+    /**
+     * UTF-8 等编码文件开头的 BOM（字节顺序标记）解码之后的字符
+     */
+    public static final char  BOM                 = (char) 0xFEFF;
+    private static final char NEXT_LINE           = (char) 0x0085;
+    private static final char LINE_SEPARATOR      = (char) 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = (char) 0x2029;
+
+    /**
+     * 移除行尾空格（空格和 tab），直接修改传入的内容，不会创建新的字符串。和正则表达式
+     * {@code ([^ \t\r\n])[ \t]+$}（{@code MULTILINE} 模式）替换为 {@code $1}
+     * 的结果完全一致：只包含空白字符的行不会被修改
+     *
+     * @param text 文本内容
+     * @return true: 移除了行尾空格; false: 没有需要移除的行尾空格，内容没有任何变化
+     */
+    public static boolean stripTrailingSpaces(StringBuilder text) {
+        int length = text.length();
+        int read = findTrailingSpaces(text);
+        if (read == -1) {
+            return false;
+        }
+        int write = read;
+        while (read < length) {
+            char c = text.charAt(read);
+            if (!isSpace(c)) {
+                text.setCharAt(write++, c);
+                read++;
+                continue;
+            }
+            int end = read + 1;
+            while (end < length && isSpace(text.charAt(end))) {
+                end++;
+            }
+            if (!isTrailing(text, read, end)) {
+                // 不是行尾空格，保留
+                for (int i = read; i < end; i++) {
+                    text.setCharAt(write++, text.charAt(i));
+                }
+            }
+            read = end;
+        }
+        text.setLength(write);
+        return true;
+    }
+
+    /**
+     * 统计文本中使用最多的换行符，数量相同或者没有换行符时使用 "\n"
+     *
+     * @param text 文本内容
+     * @return "\r\n"、"\n" 或者 "\r"
+     */
+    public static String dominantLineSeparator(CharSequence text) {
+        int crlf = 0;
+        int lf = 0;
+        int cr = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                lf++;
+            } else if (c == '\r') {
+                if (i + 1 < length && text.charAt(i + 1) == '\n') {
+                    crlf++;
+                    i++;
+                } else {
+                    cr++;
+                }
+            }
+        }
+        if (crlf > lf && crlf >= cr) {
+            return "\r\n";
+        }
+        return (cr > lf ? "\r" : "\n");
+    }
+
+    /**
+     * 把文本从 start 开始的内容追加到 result 中，同时把所有的换行符（"\r\n"、"\n"、"\r"）统一替换为指定的换行符，只复制一次
+     *
+     * @param text 文本内容
+     * @param start 开始的位置，比如跳过开头的 {@link #BOM}
+     * @param lineSeparator 换行符
+     * @param result 追加替换之后内容的对象
+     * @return result
+     */
+    public static StringBuilder convertLineSeparators(CharSequence text, int start, String lineSeparator,
+                                                      StringBuilder result) {
+        int length = text.length();
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r') {
+                if (i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                result.append(lineSeparator);
+            } else if (c == '\n') {
+                result.append(lineSeparator);
+            } else {
+                result.append(c);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查找第一处需要移除的行尾空格
+     *
+     * @param text 文本内容
+     * @return 行尾空格的开始位置，没有找到返回 -1
+     */
+    private static int findTrailingSpaces(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!isSpace(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && isSpace(text.charAt(end))) {
+                end++;
+            }
+            if (isTrailing(text, i, end)) {
+                return i;
+            }
+            i = end;
+        }
+        return -1;
+    }
+
+    /**
+     * 判断 [start, end) 之间的空格是否为需要移除的行尾空格：前面是非空白字符，后面是换行符或者文本结束
+     */
+    private static boolean isTrailing(CharSequence text, int start, int end) {
+        if (start == 0) {
+            return false;
+        }
+        char previous = text.charAt(start - 1);
+        if (previous == '\r' || previous == '\n') {
+            return false;
+        }
+        return end == text.length() || isLineTerminator(text.charAt(end));
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    /**
+     * 正则表达式 {@code $} 在 {@code MULTILINE} 模式下可以匹配的换行符
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == NEXT_LINE || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.report.FormatReport;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * {@link FormatPipeline} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午2:31:19
+ */
+public class FormatPipelineTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatDirectoryTest1() throws IOException {
+        File directory = temporaryFolder.newFolder("pipeline");
+        for (int i = 0; i < 30; i++) {
+            String content = (i % 3 == 0 ? "public class Demo" + i + " {\n    int value;\n}\n"
+                    : "public class Demo" + i + " {\n\tint   value;\n}\n");
+            Path file = directory.toPath().resolve("p" + (i % 4) + "/Demo" + i + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // 队列容量为1，上游阶段会频繁阻塞等待下游
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        FormatReport report = new FormatPipeline(formatter, 2, 3, 2, 1).formatDirectory(directory.getPath());
+        Assert.assertEquals(30, report.getFileCount());
+        Assert.assertEquals(20, report.getChangedCount());
+        Assert.assertEquals(10, report.getUnchangedCount());
+        Assert.assertEquals(0, report.getFailedCount());
+        Assert.assertEquals(20, formatter.getChangedCount());
+        for (int i = 0; i < 30; i++) {
+            Path file = directory.toPath().resolve("p" + (i % 4) + "/Demo" + i + ".java");
+            Assert.assertEquals("public class Demo" + i + " {\n    int value;\n}\n",
+                    new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+
+        // 结果的顺序与顺序格式化一致
+        FormatReport sequential = formatter.formatDirectoryReport(directory.getPath(), 1);
+        FormatReport pipelined = formatter.formatDirectoryPipelined(directory.getPath());
+        Assert.assertEquals(30, pipelined.getUnchangedCount());
+        for (int i = 0; i < 30; i++) {
+            Assert.assertEquals(sequential.getFiles().get(i).getFilePath(), pipelined.getFiles().get(i).getFilePath());
+            Assert.assertEquals(FileFormatStatus.UNCHANGED, pipelined.getFiles().get(i).getStatus());
+        }
+    }
+
+    @Test
+    public void finishedTaskContentTest1() throws IOException {
+        File directory = temporaryFolder.newFolder("pipeline");
+        Path changed = directory.toPath().resolve("Changed.java");
+        Path unchanged = directory.toPath().resolve("Unchanged.java");
+        Files.write(changed, "public class Changed {\n\tint   value;\n}\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(unchanged, "public class Unchanged {\n    int value;\n}\n".getBytes(StandardCharsets.UTF_8));
+        List<FileTask> tasks = Arrays.asList(new FileTask(changed.toString(), null),
+                new FileTask(unchanged.toString(), null),
+                new FileTask(directory.toPath().resolve("Missing.java").toString(), null));
+
+        // 与流水线相同的步骤，结束的任务只保留格式化结果，不再持有文件内容
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        for (FileTask task : tasks) {
+            if (formatter.readStep(task) && formatter.formatStep(task)) {
+                formatter.writeStep(task);
+            }
+        }
+        Assert.assertEquals(FileFormatStatus.CHANGED, tasks.get(0).result.getStatus());
+        Assert.assertEquals(FileFormatStatus.UNCHANGED, tasks.get(1).result.getStatus());
+        Assert.assertEquals(FileFormatStatus.FAILED, tasks.get(2).result.getStatus());
+        for (FileTask task : tasks) {
+            Assert.assertNull(task.source);
+            Assert.assertNull(task.formatted);
+        }
+        Assert.assertTrue(tasks.get(0).result.getChangedLength() > 0);
+    }
+
+    @Test(timeout = 30000)
+    public void formatDirectoryStageErrorTest1() throws IOException {
+        File directory = temporaryFolder.newFolder("pipeline");
+        for (int i = 0; i < 20; i++) {
+            Files.write(directory.toPath().resolve("Demo" + i + ".java"),
+                    ("public class Demo" + i + " {\n\tint   value;\n}\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        // 格式化线程抛出没有被捕获的 Error 之后，遍历文件夹的线程不能一直阻塞在已满的队列上
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator())) {
+            @Override
+            public JavaCodeFormatter copy() {
+                return new JavaCodeFormatter(this) {
+                    @Override
+                    protected CharSequence format(String source, List<LineRange> lineRanges) {
+                        throw new StackOverflowError("deep nesting");
+                    }
+                };
+            }
+        };
+        try {
+            new FormatPipeline(formatter, 1, 1, 1, 1).formatDirectory(directory.getPath());
+            Assert.fail("pipeline should fail");
+        } catch (BizRuntimeException ex) {
+            Assert.assertTrue(ex.getCause() instanceof StackOverflowError);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidQueueCapacityTest1() {
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        new FormatPipeline(formatter, 1, 1, 1, 0);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter450;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorterType;
+import app.myoss.cloud.core.constants.MyossConstants;
+
+/**
+ * {@link FormatterRegistry} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午6:41:09
+ */
+public class FormatterRegistryTests {
+    @Test
+    public void getTest1() throws BadLocationException {
+        FormatterRegistry registry = new FormatterRegistry(1);
+        PooledJavaCodeFormatter formatter = registry.get(FormatterKey.defaultFor("1.8"));
+        Assert.assertSame(formatter, registry.get(FormatterKey.defaultFor("1.8")));
+        Assert.assertEquals(1, registry.getBuildCount());
+        Assert.assertEquals("1.8",
+                formatter.getPrototype().formatterOptions.get("org.eclipse.jdt.core.compiler.compliance"));
+
+        String source = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        String formatText = registry.newFormatter(FormatterKey.defaultFor("1.8")).formatText(new StringBuilder(source));
+        Assert.assertEquals(formatter.formatText(new StringBuilder(source)), formatText);
+        Assert.assertEquals(1, registry.getBuildCount());
+
+        // 超过最大数量之后淘汰最近最少使用的格式化规则
+        PooledJavaCodeFormatter formatter17 = registry.get(FormatterKey.defaultFor("1.7"));
+        Assert.assertEquals("1.7",
+                formatter17.getPrototype().formatterOptions.get("org.eclipse.jdt.core.compiler.compliance"));
+        Assert.assertEquals(1, registry.size());
+        Assert.assertNotSame(formatter, registry.get(FormatterKey.defaultFor("1.8")));
+        Assert.assertEquals(3, registry.getBuildCount());
+    }
+
+    @Test
+    public void isolationTest1() {
+        FormatterRegistry registry = new FormatterRegistry(4);
+        FormatterKey key = FormatterKey.defaultFor("1.8");
+        FormatterKey key450 = new FormatterKey(key.toFormatConfigFileUrl(), key.getProfile(), key.getComplianceLevel(),
+                null, ImportsSorterType.ECLIPSE_450);
+        Assert.assertNotEquals(key, key450);
+        Assert.assertEquals(ImportsSorter452.class, registry.get(key).getPrototype().importsSorter.getClass());
+        Assert.assertEquals(ImportsSorter450.class, registry.get(key450).getPrototype().importsSorter.getClass());
+
+        // 共用的原型是只读的
+        JavaCodeFormatter prototype = registry.get(key).getPrototype();
+        Assert.assertTrue(prototype.isReadOnly());
+        try {
+            prototype.setCharset(StandardCharsets.ISO_8859_1);
+            Assert.fail();
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertEquals(MyossConstants.DEFAULT_CHARSET, prototype.getCharset());
+        }
+
+        // 新的实例可以修改设置，使用独立的计数
+        JavaCodeFormatter formatter = registry.newFormatter(key);
+        Assert.assertFalse(formatter.isReadOnly());
+        formatter.setCharset(StandardCharsets.ISO_8859_1);
+        formatter.changedCount.incrementAndGet();
+        Assert.assertEquals(MyossConstants.DEFAULT_CHARSET, registry.newFormatter(key).getCharset());
+        Assert.assertEquals(0, registry.newFormatter(key).getChangedCount());
+        Assert.assertEquals(0, prototype.getChangedCount());
+        Assert.assertEquals(2, registry.getBuildCount());
+    }
+}
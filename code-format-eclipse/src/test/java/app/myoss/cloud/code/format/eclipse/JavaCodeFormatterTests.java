@@ -17,25 +17,49 @@
 
 package app.myoss.cloud.code.format.eclipse;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import org.assertj.core.util.Lists;
 import org.eclipse.jface.text.BadLocationException;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
 
 import app.myoss.cloud.code.format.eclipse.imports.ImportsSorter;
 import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
 import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.metrics.FormatListener;
+import app.myoss.cloud.code.format.eclipse.metrics.FormatPhase;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.report.TextFormatResult;
+import app.myoss.cloud.code.format.eclipse.utils.AtomicFileWriter;
 import app.myoss.cloud.code.format.eclipse.utils.FileUtils;
 import app.myoss.cloud.code.format.eclipse.utils.ImportsUtils;
+import app.myoss.cloud.code.format.eclipse.utils.TextUtils;
+import app.myoss.cloud.core.constants.MyossConstants;
 import app.myoss.cloud.core.exception.BizRuntimeException;
 import app.myoss.cloud.core.lang.json.JsonApi;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +72,9 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class JavaCodeFormatterTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void importOrderFileTest1() {
         Properties properties = ImportsUtils.readPropertiesFile("eclipse-formatter-config/Default.importorder");
@@ -184,4 +211,274 @@ public class JavaCodeFormatterTests {
         log.info("\n\n{}", excepted);
         Assert.assertEquals(excepted, formatText);
     }
+
+    @Test
+    public void formatDirectoryParallelTest1() throws IOException {
+        String source = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        String broken = "public class Broken {\n}\n";
+        File directory = temporaryFolder.newFolder("parallel");
+        for (int i = 0; i < 20; i++) {
+            File packageDir = new File(directory, "p" + (i % 4));
+            Assert.assertTrue(packageDir.isDirectory() || packageDir.mkdirs());
+            Files.asCharSink(new File(packageDir, "Demo" + i + ".java"), MyossConstants.DEFAULT_CHARSET)
+                    .write(i % 7 == 0 ? broken : source);
+        }
+
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter javaCodeFormatter = new FailingJavaCodeFormatter(importsSorter);
+        List<String> parallel = javaCodeFormatter.formatDirectory(directory.getPath(), 4);
+        List<String> sequential = javaCodeFormatter.formatDirectory(directory.getPath());
+        Assert.assertEquals(3, parallel.size());
+        Assert.assertEquals(sequential, parallel);
+
+        String excepted = "import java.io.File;\nimport java.util.List;\n\npublic class Demo {\n"
+                + "    private List<File> files;\n}\n";
+        String formatted = Files.asCharSource(new File(directory, "p1/Demo1.java"), MyossConstants.DEFAULT_CHARSET)
+                .read();
+        Assert.assertEquals(excepted, formatted);
+    }
+
+    @Test
+    public void formatFileUnchangedTest1() throws IOException {
+        File formattedFile = temporaryFolder.newFile("Formatted.java");
+        File unformattedFile = temporaryFolder.newFile("Unformatted.java");
+        Files.asCharSink(formattedFile, MyossConstants.DEFAULT_CHARSET)
+                .write("public class Formatted {\n    int a;\n}\n");
+        Files.asCharSink(unformattedFile, MyossConstants.DEFAULT_CHARSET)
+                .write("public class Unformatted {\n\tint a;\n}\n");
+        long lastModified = 1000000000000L;
+        Assert.assertTrue(formattedFile.setLastModified(lastModified));
+        Assert.assertTrue(unformattedFile.setLastModified(lastModified));
+
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter javaCodeFormatter = new JavaCodeFormatter(importsSorter);
+        Assert.assertTrue(javaCodeFormatter.formatFile(formattedFile.getPath()));
+        Assert.assertTrue(javaCodeFormatter.formatFile(unformattedFile.getPath()));
+        Assert.assertEquals(lastModified, formattedFile.lastModified());
+        Assert.assertNotEquals(lastModified, unformattedFile.lastModified());
+        Assert.assertEquals(1, javaCodeFormatter.getChangedCount());
+        Assert.assertEquals(1, javaCodeFormatter.getUnchangedCount());
+    }
+
+    @Test
+    public void formatFileAtomicallyTest1() throws IOException {
+        File file = temporaryFolder.newFile("Crlf.java");
+        String source = TextUtils.BOM + "public class Crlf {\r\n\tint a;\r\n}\r\n";
+        Files.asCharSink(file, MyossConstants.DEFAULT_CHARSET).write(source);
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        java.nio.file.Files.setPosixFilePermissions(file.toPath(), permissions);
+
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter javaCodeFormatter = new JavaCodeFormatter(importsSorter);
+        AtomicFileWriter fileWriter = new AtomicFileWriter(true);
+        javaCodeFormatter.setFileWriter(fileWriter);
+        Assert.assertTrue(javaCodeFormatter.formatFile(file.getPath()));
+        Assert.assertEquals(1, javaCodeFormatter.getChangedCount());
+        Assert.assertEquals(1, fileWriter.flush());
+        Assert.assertEquals(0, fileWriter.flush());
+
+        String excepted = TextUtils.BOM + "public class Crlf {\r\n    int a;\r\n}\r\n";
+        Assert.assertEquals(excepted, Files.asCharSource(file, MyossConstants.DEFAULT_CHARSET).read());
+        Assert.assertEquals(permissions, java.nio.file.Files.getPosixFilePermissions(file.toPath()));
+        String[] fileNames = temporaryFolder.getRoot().list();
+        Assert.assertNotNull(fileNames);
+        Assert.assertArrayEquals(new String[] { "Crlf.java" }, fileNames);
+    }
+
+    @Test
+    public void formatTextLineRangesTest1() throws BadLocationException {
+        String source = "import java.util.List;\n" + "import java.io.File;\n" + "import java.util.Map;\n" + "\n"
+                + "public class Demo {\n" + "\tprivate   List<File>   files;\n" + "\tprivate   Map<String, File>   map;\n"
+                + "}\n";
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter javaCodeFormatter = new JavaCodeFormatter(importsSorter);
+        String formatText = javaCodeFormatter.formatText(new StringBuilder(source),
+                Lists.newArrayList(new LineRange(7, 7)));
+
+        String excepted = "import java.io.File;\n" + "import java.util.List;\n" + "import java.util.Map;\n" + "\n"
+                + "public class Demo {\n" + "\tprivate   List<File>   files;\n" + "    private Map<String, File> map;\n"
+                + "}\n";
+        Assert.assertEquals(excepted, formatText);
+    }
+
+    @Test
+    public void formatTextImportInStringTest1() throws BadLocationException {
+        String source = "import java.util.List;\n" + "import java.io.File;\n" + "\n" + "public class Demo {\n"
+                + "    // import java.lang.Deprecated;\n" + "    private List<File> files;\n"
+                + "    private String text = \"import java.util.Map;\";\n" + "}\n";
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter javaCodeFormatter = new JavaCodeFormatter(importsSorter);
+        String formatText = javaCodeFormatter.formatText(new StringBuilder(source));
+
+        String excepted = "import java.io.File;\n" + "import java.util.List;\n" + "\n" + "public class Demo {\n"
+                + "    // import java.lang.Deprecated;\n" + "    private List<File> files;\n"
+                + "    private String     text = \"import java.util.Map;\";\n" + "}\n";
+        Assert.assertEquals(excepted, formatText);
+    }
+
+    @Test
+    public void formatTextsTest1() {
+        ImportsSorter452 importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter formatter = new FailingJavaCodeFormatter(importsSorter);
+        Map<String, CharSequence> sources = new LinkedHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            sources.put("Demo" + i, "public class Demo" + i + " {\n\tint   value;\n}\n");
+        }
+        sources.put("Broken", new StringBuilder("public class Broken {\n}\n"));
+        sources.put("Formatted", "public class Formatted {\n}\n");
+
+        Map<String, TextFormatResult> results = formatter.formatTexts(sources, 4);
+        Assert.assertEquals(new ArrayList<>(sources.keySet()), new ArrayList<>(results.keySet()));
+        for (int i = 0; i < 40; i++) {
+            TextFormatResult result = results.get("Demo" + i);
+            Assert.assertEquals(FileFormatStatus.CHANGED, result.getStatus());
+            Assert.assertEquals("public class Demo" + i + " {\n    int value;\n}\n", result.getFormatted());
+        }
+        TextFormatResult broken = results.get("Broken");
+        Assert.assertEquals(FileFormatStatus.FAILED, broken.getStatus());
+        Assert.assertEquals("broken source", broken.getExceptionMessage());
+        Assert.assertEquals("public class Broken {\n}\n", broken.getFormatted());
+        Assert.assertEquals(FileFormatStatus.UNCHANGED, results.get("Formatted").getStatus());
+    }
+
+    @Test
+    public void formatFilesResultTest1() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            File file = temporaryFolder.newFile("Demo" + i + ".java");
+            Files.asCharSink(file, MyossConstants.DEFAULT_CHARSET)
+                    .write("public class Demo" + i + " {\n\tint   value;\n}\n");
+            files.add(file.toPath());
+        }
+        files.add(temporaryFolder.getRoot().toPath().resolve("Missing.java"));
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        JavaCodeFormatter javaCodeFormatter = new JavaCodeFormatter(importsSorter);
+
+        List<FileFormatResult> checked = javaCodeFormatter.checkFilesResult(files, 3);
+        List<FileFormatResult> formatted = javaCodeFormatter.formatFilesResult(files, 3);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertEquals(files.get(i).toString(), checked.get(i).getFilePath());
+            Assert.assertEquals(FileFormatStatus.CHANGED, checked.get(i).getStatus());
+            Assert.assertEquals(FileFormatStatus.CHANGED, formatted.get(i).getStatus());
+            Assert.assertEquals("public class Demo" + i + " {\n    int value;\n}\n",
+                    Files.asCharSource(files.get(i).toFile(), MyossConstants.DEFAULT_CHARSET).read());
+        }
+        Assert.assertEquals(FileFormatStatus.FAILED, checked.get(6).getStatus());
+        Assert.assertEquals(FileFormatStatus.FAILED, formatted.get(6).getStatus());
+        Assert.assertEquals(6, javaCodeFormatter.getChangedCount());
+        for (FileFormatResult result : javaCodeFormatter.checkFilesResult(files.subList(0, 6), 1)) {
+            Assert.assertEquals(FileFormatStatus.UNCHANGED, result.getStatus());
+        }
+    }
+
+    @Test
+    public void copyNotOverriddenTest1() {
+        ImportsSorter importsSorter = new ImportsSorter452(new ImportsComparator());
+        Assert.assertEquals(JavaCodeFormatter.class, new JavaCodeFormatter(importsSorter).copy().getClass());
+        Assert.assertEquals(FailingJavaCodeFormatter.class,
+                new FailingJavaCodeFormatter(importsSorter).copy().getClass());
+        JavaCodeFormatter formatter = new JavaCodeFormatter(importsSorter) {
+        };
+        try {
+            formatter.copy();
+            Assert.fail();
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertTrue(ex.getMessage().endsWith("must override copy()"));
+        }
+    }
+
+    @Test
+    public void abandonedTaskLimitTest1() throws IOException {
+        File stuckFile = temporaryFolder.newFile("Stuck.java");
+        File demoFile = temporaryFolder.newFile("Demo.java");
+        Files.asCharSink(stuckFile, MyossConstants.DEFAULT_CHARSET).write("public class Stuck {\n}\n");
+        String demo = "public class Demo {\n\tint   value;\n}\n";
+        Files.asCharSink(demoFile, MyossConstants.DEFAULT_CHARSET).write(demo);
+        List<Boolean> successes = new ArrayList<>();
+        JavaCodeFormatter formatter = new FailingJavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        formatter.setFileTimeout(50, TimeUnit.MILLISECONDS);
+        formatter.setFormatListener(new FormatListener() {
+            @Override
+            public void phaseCompleted(String filePath, FormatPhase phase, long durationNanos, long length) {
+            }
+
+            @Override
+            public void fileCompleted(String filePath, long durationNanos, long length, boolean success) {
+                successes.add(success);
+            }
+        });
+        // 其他测试中被放弃的任务运行结束之后再开始
+        awaitAbandonedTasks();
+        try {
+            // 卡住的文件超时之后继续在后台运行，达到上限之后新的文件不再格式化
+            for (int i = 0; i < DeadlineTask.MAX_ABANDONED_TASKS; i++) {
+                Assert.assertEquals(FileFormatStatus.TIMED_OUT,
+                        formatter.formatFileResult(stuckFile.getPath(), null).getStatus());
+            }
+            Assert.assertEquals(DeadlineTask.MAX_ABANDONED_TASKS, DeadlineTask.abandonedTasks());
+            FileFormatResult rejected = formatter.formatFileResult(demoFile.getPath(), null);
+            Assert.assertEquals(FileFormatStatus.FAILED, rejected.getStatus());
+            Assert.assertEquals(RejectedExecutionException.class.getName(), rejected.getExceptionType());
+            Assert.assertEquals(demo, Files.asCharSource(demoFile, MyossConstants.DEFAULT_CHARSET).read());
+        } finally {
+            FailingJavaCodeFormatter.STUCK.countDown();
+        }
+        awaitAbandonedTasks();
+        Assert.assertEquals(FileFormatStatus.CHANGED, formatter.formatFileResult(demoFile.getPath(), null).getStatus());
+
+        // 超过大小限制的文件和超时、失败的文件一样通知为没有成功
+        formatter.setMaxFileSize(5);
+        Assert.assertEquals(FileFormatStatus.TOO_LARGE,
+                formatter.formatFileResult(demoFile.getPath(), null).getStatus());
+        List<Boolean> excepted = new ArrayList<>();
+        for (int i = 0; i <= DeadlineTask.MAX_ABANDONED_TASKS; i++) {
+            excepted.add(false);
+        }
+        excepted.add(true);
+        excepted.add(false);
+        Assert.assertEquals(excepted, successes);
+    }
+
+    private static void awaitAbandonedTasks() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (DeadlineTask.abandonedTasks() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        Assert.assertEquals(0, DeadlineTask.abandonedTasks());
+    }
+
+    /**
+     * 遇到 Broken 类时格式化失败，遇到 Stuck 类时模拟 eclipse 格式化卡住，不响应中断，直到 {@link #STUCK} 被释放
+     */
+    static class FailingJavaCodeFormatter extends JavaCodeFormatter {
+        /**
+         * 释放卡住的格式化任务
+         */
+        static final CountDownLatch STUCK = new CountDownLatch(1);
+
+        FailingJavaCodeFormatter(ImportsSorter importsSorter) {
+            super(importsSorter);
+        }
+
+        FailingJavaCodeFormatter(FailingJavaCodeFormatter source) {
+            super(source);
+        }
+
+        @Override
+        public JavaCodeFormatter copy() {
+            return new FailingJavaCodeFormatter(this);
+        }
+
+        @Override
+        public String formatText(StringBuilder fileContent) throws BadLocationException {
+            if (fileContent.indexOf("class Broken") > -1) {
+                throw new IllegalStateException("broken source");
+            }
+            while (fileContent.indexOf("class Stuck") > -1 && STUCK.getCount() > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            return super.formatText(fileContent);
+        }
+    }
 }
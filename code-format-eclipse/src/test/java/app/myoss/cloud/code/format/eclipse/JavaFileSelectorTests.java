@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * {@link JavaFileSelector} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午3:58:12
+ */
+public class JavaFileSelectorTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void selectTest1() throws IOException {
+        Path root = temporaryFolder.newFolder("selector").toPath();
+        List<String> files = Arrays.asList("Root.java", "readme.txt", "src/main/java/Main.java",
+                "target/generated-sources/Gen.java", "a/build/B.java", "node_modules/x/N.java", "gen/G.java",
+                "LocalA.java", "LocalKeep.java", "sub/LocalB.java", "sub/Keep.java", ".git/objects/X.java");
+        for (String file : files) {
+            write(root, file, "class X {}");
+        }
+        write(root, ".gitignore", "# comment\ngen/\n/Local*.java\n!LocalKeep.java\n");
+        write(root, "sub/.gitignore", "*.java\n!Keep.java\n");
+
+        Assert.assertEquals(11, new JavaFileSelector().select(root).size());
+
+        JavaFileSelector excludes = new JavaFileSelector(JavaFileSelector.DEFAULT_INCLUDES,
+                JavaFileSelector.DEFAULT_EXCLUDES, false);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("Root.java", "src/main/java/Main.java", "gen/G.java",
+                "LocalA.java", "LocalKeep.java", "sub/LocalB.java", "sub/Keep.java")), relative(root, excludes));
+
+        JavaFileSelector gitIgnore = new JavaFileSelector(JavaFileSelector.DEFAULT_INCLUDES,
+                Collections.singletonList("**/build/**"), true);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("Root.java", "src/main/java/Main.java",
+                "target/generated-sources/Gen.java", "node_modules/x/N.java", "LocalKeep.java", "sub/Keep.java")),
+                relative(root, gitIgnore));
+
+        JavaFileSelector includes = new JavaFileSelector(Collections.singletonList("src/**/*.java"),
+                Collections.emptyList(), false);
+        Assert.assertEquals(Collections.singleton("src/main/java/Main.java"), relative(root, includes));
+    }
+
+    private static Set<String> relative(Path root, JavaFileSelector selector) {
+        Set<String> result = new TreeSet<>();
+        for (Path file : selector.select(root)) {
+            result.add(root.relativize(file).toString().replace('\\', '/'));
+        }
+        return result;
+    }
+
+    private static void write(Path root, String name, String content) throws IOException {
+        Path file = root.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
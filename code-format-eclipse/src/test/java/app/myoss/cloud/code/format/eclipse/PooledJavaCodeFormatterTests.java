@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatStatus;
+import app.myoss.cloud.code.format.eclipse.report.TextFormatResult;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * {@link PooledJavaCodeFormatter} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午9:48:03
+ */
+public class PooledJavaCodeFormatterTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatTextConcurrentTest1() throws Exception {
+        JavaCodeFormatter prototype = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        PooledJavaCodeFormatter formatter = new PooledJavaCodeFormatter(prototype, 3, 30, TimeUnit.SECONDS);
+        String source = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        String excepted = "import java.io.File;\nimport java.util.List;\n\npublic class Demo {\n"
+                + "    private List<File> files;\n}\n";
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executorService.submit(() -> formatter.formatText(new StringBuilder(source))));
+            }
+            for (Future<String> future : futures) {
+                Assert.assertEquals(excepted, future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertTrue(formatter.getCreatedSize() <= 3);
+        Assert.assertEquals(formatter.getCreatedSize(), formatter.getIdleSize());
+        Assert.assertEquals(0, formatter.getActiveSize());
+        Assert.assertEquals(64, formatter.getBorrowCount());
+    }
+
+    @Test
+    public void borrowTimeoutTest1() {
+        JavaCodeFormatter prototype = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        PooledJavaCodeFormatter formatter = new PooledJavaCodeFormatter(prototype, 1, 10, TimeUnit.MILLISECONDS);
+        JavaCodeFormatter borrowed = formatter.borrow();
+        try {
+            formatter.borrow();
+            Assert.fail("borrow should timeout");
+        } catch (BizRuntimeException ex) {
+            Assert.assertEquals(1, formatter.getBorrowTimeoutCount());
+        } finally {
+            formatter.release(borrowed);
+        }
+        Assert.assertEquals(1, formatter.getIdleSize());
+    }
+
+    @Test
+    public void copyFailedTest1() {
+        ImportsSorter452 importsSorter = new ImportsSorter452(new ImportsComparator());
+        AtomicInteger copyCount = new AtomicInteger();
+        JavaCodeFormatter prototype = new JavaCodeFormatter(importsSorter) {
+            @Override
+            public JavaCodeFormatter copy() {
+                if (copyCount.incrementAndGet() <= 2) {
+                    throw new IllegalStateException("copy failed");
+                }
+                return new JavaCodeFormatter(importsSorter);
+            }
+        };
+        PooledJavaCodeFormatter formatter = new PooledJavaCodeFormatter(prototype, 1, 10, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 2; i++) {
+            try {
+                formatter.borrow();
+                Assert.fail("borrow should fail");
+            } catch (IllegalStateException ex) {
+                Assert.assertEquals(0, formatter.getCreatedSize());
+            }
+        }
+        JavaCodeFormatter borrowed = formatter.borrow();
+        formatter.release(borrowed);
+        Assert.assertEquals(1, formatter.getCreatedSize());
+        Assert.assertEquals(0, formatter.getActiveSize());
+    }
+
+    @Test
+    public void formatAsyncTest1() throws Exception {
+        JavaCodeFormatter prototype = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        PooledJavaCodeFormatter formatter = new PooledJavaCodeFormatter(prototype, 2, 30, TimeUnit.SECONDS);
+        Path directory = temporaryFolder.newFolder("async").toPath();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<String> filePaths = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Path file = directory.resolve("Demo" + i + ".java");
+                Files.write(file, ("public class Demo" + i + " {\n\tint   value;\n}\n").getBytes(StandardCharsets.UTF_8));
+                filePaths.add(file.toString());
+            }
+            CompletableFuture<TextFormatResult> text = formatter.formatTextAsync("Demo",
+                    "public class Demo {\n  int   value;\n}\n", executorService);
+            List<FileFormatResult> files = formatter.formatFilesAsync(filePaths, executorService).get(30,
+                    TimeUnit.SECONDS);
+
+            Assert.assertEquals(FileFormatStatus.CHANGED, text.get().getStatus());
+            Assert.assertEquals("public class Demo {\n    int value;\n}\n", text.get().getFormatted());
+            Assert.assertEquals(6, files.size());
+            for (int i = 0; i < 6; i++) {
+                Assert.assertEquals(filePaths.get(i), files.get(i).getFilePath());
+                Assert.assertEquals(FileFormatStatus.CHANGED, files.get(i).getStatus());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(0, formatter.getActiveSize());
+        Assert.assertTrue(formatter.getCreatedSize() <= 2);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter450;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.core.constants.MyossConstants;
+
+/**
+ * {@link FormatCache} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午10:58:17
+ */
+public class FormatCacheTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatFileWithCacheTest1() throws IOException {
+        File source1 = temporaryFolder.newFile("Demo1.java");
+        File source2 = temporaryFolder.newFile("Demo2.java");
+        Files.asCharSink(source1, MyossConstants.DEFAULT_CHARSET).write("public class Demo1 {\n\tint   a;\n}\n");
+        Files.asCharSink(source2, MyossConstants.DEFAULT_CHARSET).write("public class Demo2 {\n\tint   b;\n}\n");
+        Path cacheFile = temporaryFolder.getRoot().toPath().resolve(".format-cache");
+
+        JavaCodeFormatter javaCodeFormatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        FormatCache formatCache = FormatCache.load(cacheFile, javaCodeFormatter.getFingerprint());
+        Assert.assertEquals(0, formatCache.size());
+        javaCodeFormatter.setFormatCache(formatCache);
+        Assert.assertTrue(javaCodeFormatter.formatFile(source1.getPath()));
+        Assert.assertTrue(javaCodeFormatter.formatFile(source2.getPath()));
+        formatCache.save();
+
+        FormatCache reloaded = FormatCache.load(cacheFile, javaCodeFormatter.getFingerprint());
+        Assert.assertEquals(2, reloaded.size());
+        String formatted = Files.asCharSource(source1, MyossConstants.DEFAULT_CHARSET).read();
+        Assert.assertEquals("public class Demo1 {\n    int a;\n}\n", formatted);
+        Assert.assertTrue(reloaded.isFormatted(source1.getPath(), formatted));
+        Assert.assertFalse(reloaded.isFormatted(source1.getPath(), formatted + "\n"));
+
+        // 删除的文件会被移除
+        Assert.assertTrue(source2.delete());
+        reloaded.save();
+        Assert.assertEquals(1, FormatCache.load(cacheFile, javaCodeFormatter.getFingerprint()).size());
+
+        // 格式化规则发生变化，缓存失效
+        JavaCodeFormatter other = new JavaCodeFormatter(new ImportsSorter450(Lists.newArrayList("java", "javax", "org", "com")));
+        Assert.assertNotEquals(javaCodeFormatter.getFingerprint(), other.getFingerprint());
+        Assert.assertEquals(0, FormatCache.load(cacheFile, other.getFingerprint()).size());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.cli;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * {@link FormatCli} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午9:02:51
+ */
+public class FormatCliTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void runTest1() throws IOException {
+        String source = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        Path file1 = temporaryFolder.newFile("Demo1.java").toPath();
+        Path file2 = temporaryFolder.newFile("Demo 2.java").toPath();
+        Files.write(file1, source.getBytes(StandardCharsets.UTF_8));
+        Files.write(file2, source.getBytes(StandardCharsets.UTF_8));
+        String fileList = file1 + "\0" + file2 + "\0" + file1.resolveSibling("Deleted.java") + "\0README.md\0";
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        Assert.assertEquals(FormatCli.EXIT_NOT_FORMATTED,
+                FormatCli.run(new String[] { "-0", "--check", "--parallelism", "2" }, stdin(fileList),
+                        new PrintStream(err)));
+        Assert.assertEquals(source, new String(Files.readAllBytes(file2), StandardCharsets.UTF_8));
+
+        Assert.assertEquals(FormatCli.EXIT_OK,
+                FormatCli.run(new String[] { "--null" }, stdin(fileList), new PrintStream(err)));
+        Assert.assertNotEquals(source, new String(Files.readAllBytes(file2), StandardCharsets.UTF_8));
+
+        Path listFile = temporaryFolder.newFile("files.txt").toPath();
+        Files.write(listFile, (file1 + "\r\n" + file2 + "\n").getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(FormatCli.EXIT_OK, FormatCli.run(
+                new String[] { "--check", "--files-from", listFile.toString() }, null, new PrintStream(err)));
+        Assert.assertEquals(FormatCli.EXIT_ERROR,
+                FormatCli.run(new String[] { "--unknown" }, null, new PrintStream(err)));
+    }
+
+    @Test
+    public void checkCrlfTest1() throws IOException {
+        String source = "public class Demo {\r\n    private int value;\r\n}\r\n";
+        Path file = temporaryFolder.newFile("Demo.java").toPath();
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        // 与 formatFile 一样保留 CRLF 换行符，已经格式化过的 CRLF 文件检查通过
+        Assert.assertEquals(FormatCli.EXIT_OK,
+                FormatCli.run(new String[] { "--check", file.toString() }, null, new PrintStream(err)));
+        Assert.assertEquals(FormatCli.EXIT_OK,
+                FormatCli.run(new String[] { file.toString() }, null, new PrintStream(err)));
+        Assert.assertEquals(source, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Assert.assertEquals("", new String(err.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static InputStream stdin(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.daemon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.PooledJavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Command;
+import app.myoss.cloud.code.format.eclipse.daemon.FormatProtocol.Status;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+
+/**
+ * {@link FormatDaemon} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午8:12:35
+ */
+public class FormatDaemonTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatTest1() throws Exception {
+        String source = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        JavaCodeFormatter prototype = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        String expected = prototype.formatText(new StringBuilder(source));
+        Path file = temporaryFolder.newFile("Demo.java").toPath();
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        Path portFile = temporaryFolder.getRoot().toPath().resolve("daemon.port");
+
+        FormatDaemon daemon = new FormatDaemon(new PooledJavaCodeFormatter(prototype, 2, 5, TimeUnit.SECONDS), 0, 2, 0,
+                TimeUnit.MINUTES);
+        daemon.start();
+        daemon.writePortFile(portFile);
+        try (FormatDaemonClient client = FormatDaemonClient.connect(portFile)) {
+            Assert.assertTrue(client.ping());
+            FormatResponse response = client.formatText(source);
+            Assert.assertEquals(Status.CHANGED, response.getStatus());
+            Assert.assertEquals(expected, response.getContent());
+
+            Assert.assertEquals(Status.CHANGED, client.checkFile(file).getStatus());
+            Assert.assertEquals(source, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            Assert.assertEquals(Status.CHANGED, client.formatFile(file).getStatus());
+            Assert.assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            Assert.assertEquals(Status.UNCHANGED, client.checkFile(file).getStatus());
+            FormatResponse missing = client.checkFile(file.resolveSibling("Missing.java"));
+            Assert.assertEquals(Status.ERROR, missing.getStatus());
+            Assert.assertTrue(missing.getMessage(), missing.getMessage().contains("Missing.java"));
+
+            // 已经格式化过的 CRLF 文件与 formatFile 的结果一致，不需要重新格式化
+            Path crlfFile = temporaryFolder.newFile("Crlf.java").toPath();
+            Files.write(crlfFile, expected.replace("\n", "\r\n").getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals(Status.UNCHANGED, client.checkFile(crlfFile).getStatus());
+            Assert.assertEquals(Status.UNCHANGED, client.formatFile(crlfFile).getStatus());
+
+            // 文本与文件使用相同的 BOM 和换行符处理
+            String crlfSource = "\uFEFF" + source.replace("\n", "\r\n");
+            response = client.formatText(crlfSource);
+            Assert.assertEquals(Status.CHANGED, response.getStatus());
+            Assert.assertEquals("\uFEFF" + expected.replace("\n", "\r\n"), response.getContent());
+            Assert.assertEquals(Status.UNCHANGED, client.send(Command.CHECK_TEXT, response.getContent()).getStatus());
+        }
+        try (FormatDaemonClient client = new FormatDaemonClient(daemon.getPort(), "invalid")) {
+            Assert.assertEquals(Status.ERROR, client.formatText(source).getStatus());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int exitCode = FormatDaemonClient.run(new String[] { "--port-file", portFile.toString(), "format", "-" },
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+                new PrintStream(err));
+        Assert.assertEquals(0, exitCode);
+        Assert.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        exitCode = FormatDaemonClient.run(new String[] { "--port-file", portFile.toString(), "check", "-" },
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+                new PrintStream(err));
+        Assert.assertEquals(1, exitCode);
+
+        exitCode = FormatDaemonClient.run(new String[] { "--port-file", portFile.toString(), "shutdown" }, null,
+                new PrintStream(out), new PrintStream(err));
+        Assert.assertEquals(0, exitCode);
+        daemon.awaitTermination();
+        Assert.assertTrue(daemon.isClosed());
+        try (FormatDaemonClient client = FormatDaemonClient.connect(portFile)) {
+            client.ping();
+            Assert.fail();
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+}
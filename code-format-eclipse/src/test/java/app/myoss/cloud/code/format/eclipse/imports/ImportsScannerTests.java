@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports;
+
+import org.assertj.core.util.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link ImportsScanner} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午3:05:26
+ */
+public class ImportsScannerTests {
+    @Test
+    public void scanTest1() {
+        String source = "/*\n * import a.b.C;\n */\n" + "package app.demo;\n\n" + "import java.util.List;\n"
+                + "import static java.util.Objects.requireNonNull;import java.io.*;\n"
+                + "import /* comment */ java . util // comment\n . Map ;\n" + "import java.util.List;\n\n"
+                + "/**\n * import a.b.D;\n */\n" + "public class Demo {\n"
+                + "    String text = \"import java.util.Set;\";\n" + "}\n";
+        JavaHeader header = ImportsScanner.scan(source);
+        Assert.assertEquals("app.demo", header.getPackageName());
+        Assert.assertEquals(5, header.getImports().size());
+        Assert.assertEquals(Lists.newArrayList("java.util.List", "static java.util.Objects.requireNonNull",
+                "java.io.*", "java.util.Map"), header.getImportNames());
+        Assert.assertEquals(source.indexOf("import java.util.List;"), header.getImportsStart());
+        Assert.assertEquals(source.lastIndexOf("import java.util.List;") + "import java.util.List;".length(),
+                header.getImportsEnd());
+        Assert.assertEquals(source.indexOf("public class"), header.getEnd());
+    }
+
+    @Test
+    public void scanTest2() {
+        String source = "@Deprecated\n@SuppressWarnings(value = { \"import a.b.C;\", \")\" })\n"
+                + "package app.demo;\n\nimport java.util.List;\n";
+        JavaHeader header = ImportsScanner.scan(source);
+        Assert.assertEquals("app.demo", header.getPackageName());
+        Assert.assertEquals(Lists.newArrayList("java.util.List"), header.getImportNames());
+        Assert.assertEquals(source.length(), header.getEnd());
+    }
+
+    @Test
+    public void scanTest3() {
+        String source = "public class Demo {\n    // import java.util.List;\n}\n";
+        JavaHeader header = ImportsScanner.scan(source);
+        Assert.assertNull(header.getPackageName());
+        Assert.assertEquals(-1, header.getImportsStart());
+        Assert.assertEquals(0, header.getEnd());
+
+        source = "@Component\npublic class Demo {\n}\n";
+        header = ImportsScanner.scan(source);
+        Assert.assertEquals(0, header.getEnd());
+    }
+}
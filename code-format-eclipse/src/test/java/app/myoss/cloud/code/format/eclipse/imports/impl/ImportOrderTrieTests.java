@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.assertj.core.util.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import app.myoss.cloud.code.format.eclipse.utils.ImportsUtils;
+
+/**
+ * {@link ImportOrderTrie} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午3:58:40
+ */
+public class ImportOrderTrieTests {
+    @Test
+    public void getBestMatchingTest1() {
+        List<String> orderItems = Lists.newArrayList("static ", "java", "javax", "org", "org.junit", "com", "");
+        ImportOrderTrie trie = new ImportOrderTrie(orderItems, true);
+        Assert.assertEquals("java", trie.getBestMatching("java.util.List"));
+        Assert.assertEquals("javax", trie.getBestMatching("javax.annotation.Resource"));
+        Assert.assertEquals("org.junit", trie.getBestMatching("org.junit.Test"));
+        Assert.assertEquals("org", trie.getBestMatching("org.junitx.Test"));
+        Assert.assertEquals("static ", trie.getBestMatching("static org.junit.Assert.*"));
+        Assert.assertEquals("", trie.getBestMatching("lombok.Getter"));
+
+        trie = new ImportOrderTrie(orderItems, false);
+        Assert.assertEquals("org.junit", trie.getBestMatching("org.junitx.Test"));
+        Assert.assertEquals("com", trie.getBestMatching("company.Demo"));
+    }
+
+    /**
+     * 随机生成排序规则和 import，和逐个调用 {@link ImportsUtils#betterMatching} 的结果对比
+     */
+    @Test
+    public void getBestMatchingTest2() {
+        Random random = new Random(20181018L);
+        for (int n = 0; n < 5000; n++) {
+            Set<String> orderItems = new LinkedHashSet<>();
+            int size = random.nextInt(8);
+            for (int i = 0; i < size; i++) {
+                orderItems.add(random.nextInt(10) == 0 ? "static " : randomName(random));
+            }
+            if (random.nextBoolean()) {
+                orderItems.add("");
+            }
+            for (boolean exactPackage : new boolean[] { true, false }) {
+                ImportOrderTrie trie = new ImportOrderTrie(orderItems, exactPackage);
+                for (int i = 0; i < 10; i++) {
+                    String anImport = (random.nextInt(5) == 0 ? "static " : "") + randomName(random) + ".X";
+                    Assert.assertEquals(orderItems + " " + anImport,
+                            bestMatching(new ArrayList<>(orderItems), exactPackage, anImport),
+                            trie.getBestMatching(anImport));
+                }
+            }
+        }
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            name.append(i > 0 && random.nextInt(3) == 0 ? '.' : (char) ('a' + random.nextInt(2)));
+        }
+        return name.toString();
+    }
+
+    private static String bestMatching(List<String> orderItems, boolean exactPackage, String anImport) {
+        String matchingImport = null;
+        for (String orderItem : orderItems) {
+            String prefix = (!exactPackage || "static ".equals(orderItem) || "".equals(orderItem) ? orderItem
+                    : orderItem + ".");
+            if (anImport.startsWith(prefix)) {
+                if (matchingImport == null) {
+                    matchingImport = orderItem;
+                } else {
+                    matchingImport = ImportsUtils.betterMatching(matchingImport, orderItem, anImport);
+                }
+            }
+        }
+        return matchingImport;
+    }
+}
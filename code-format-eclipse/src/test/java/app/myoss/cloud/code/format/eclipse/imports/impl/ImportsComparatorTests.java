@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.imports.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.assertj.core.util.Lists;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * {@link ImportsComparator} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午4:52:16
+ */
+public class ImportsComparatorTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void compareTest1() {
+        List<String> imports = Lists.newArrayList("java.util.Map.Entry", "java.util.Map", "java.util.List",
+                "java.util.AbstractMap.SimpleEntry", "com.demo.Outer.Inner", "com.demo.Outer", "com.demo.OuterA",
+                "java.util.*", "static java.util.Map.Entry.comparingByKey");
+        List<String> expected = new ArrayList<>(imports);
+        expected.sort(new ImportsComparator());
+
+        ClasspathIndexImportNameResolver resolver = ClasspathIndexImportNameResolver.scanClassPath();
+        Assert.assertEquals("Map.Entry", resolver.resolveSimpleName("java.util.Map.Entry"));
+        Assert.assertNull(resolver.resolveSimpleName("java.util.Map"));
+        for (int i = 0; i < 10; i++) {
+            Collections.shuffle(imports);
+            ImportsComparator comparator = new ImportsComparator(resolver, 4);
+            imports.sort(comparator);
+            Assert.assertEquals(expected, imports);
+            Assert.assertTrue(comparator.getCacheSize() <= 4);
+        }
+    }
+
+    @Test
+    public void classpathIndexTest1() throws IOException {
+        Path classes = temporaryFolder.newFolder("classes").toPath();
+        Files.createDirectories(classes.resolve("com/demo"));
+        for (String name : new String[] { "Outer", "Outer$Inner", "Outer$Inner$Deep", "Outer$1", "Outer$1Local" }) {
+            Files.createFile(classes.resolve("com/demo/" + name + ".class"));
+        }
+        ClasspathIndexImportNameResolver resolver = ClasspathIndexImportNameResolver
+                .scan(Collections.singletonList(classes));
+        Assert.assertEquals(2, resolver.size());
+        Assert.assertEquals("Outer.Inner", resolver.resolveSimpleName("com.demo.Outer.Inner"));
+        Assert.assertEquals("Outer.Inner.Deep", resolver.resolveSimpleName("com.demo.Outer.Inner.Deep"));
+
+        Path indexFile = temporaryFolder.getRoot().toPath().resolve("classpath.idx");
+        resolver.save(indexFile);
+        Assert.assertEquals(Lists.newArrayList("com.demo.Outer$Inner", "com.demo.Outer$Inner$Deep"),
+                Files.readAllLines(indexFile));
+        resolver = ClasspathIndexImportNameResolver.load(indexFile);
+        Assert.assertEquals("Outer.Inner.Deep", resolver.resolveSimpleName("com.demo.Outer.Inner.Deep"));
+
+        List<String> imports = Lists.newArrayList("com.demo.OuterA", "com.demo.Outer.Inner", "com.demo.Outer");
+        imports.sort(new ImportsComparator(resolver));
+        Assert.assertEquals(Lists.newArrayList("com.demo.Outer", "com.demo.Outer.Inner", "com.demo.OuterA"),
+                imports);
+    }
+}
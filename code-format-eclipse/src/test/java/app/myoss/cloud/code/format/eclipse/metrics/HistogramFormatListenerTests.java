@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+
+/**
+ * {@link HistogramFormatListener} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 上午11:36:05
+ */
+public class HistogramFormatListenerTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatFileTest1() throws IOException, BadLocationException {
+        Path file = temporaryFolder.newFile("Demo.java").toPath();
+        String source = "package demo;\nimport java.util.List;\nimport java.io.File;\n"
+                + "public class Demo {\n  private   List<File> files;   \n}\n";
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        HistogramFormatListener listener = new HistogramFormatListener();
+        formatter.setFormatListener(listener);
+        Assert.assertTrue(formatter.copy().formatFile(file.toString()));
+        // 内容没有变化，不会写入文件
+        Assert.assertTrue(formatter.formatFile(file.toString()));
+
+        Assert.assertEquals(2, listener.getFiles().getCount());
+        String formatted = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Assert.assertEquals(source.length() + formatted.length(), listener.getFiles().getTotalLength());
+        Assert.assertEquals(2, listener.getPhase(FormatPhase.READ).getCount());
+        Assert.assertEquals(2, listener.getPhase(FormatPhase.IMPORT_SORT).getCount());
+        Assert.assertEquals(2, listener.getPhase(FormatPhase.FORMAT).getCount());
+        Assert.assertEquals(1, listener.getPhase(FormatPhase.WRITE).getCount());
+        Assert.assertEquals(file.toString(), listener.getPhase(FormatPhase.WRITE).getMaxFilePath());
+        Assert.assertEquals(0, listener.getFailed().getCount());
+
+        formatter.formatText(new StringBuilder(source));
+        Assert.assertEquals(2, listener.getFiles().getCount());
+        Assert.assertEquals(3, listener.getPhase(FormatPhase.FORMAT).getCount());
+        Assert.assertTrue(listener.report().contains("WRITE: count=1"));
+    }
+
+    @Test
+    public void percentileTest1() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getPercentileNanos(0.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record("file" + i, i * 1000L, i);
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(5050, histogram.getTotalLength());
+        Assert.assertEquals(100000, histogram.getMaxNanos());
+        Assert.assertEquals("file100", histogram.getMaxFilePath());
+        // 50000 纳秒在 [32768, 65536) 这个桶中，误差在 2 倍以内
+        long p50 = histogram.getPercentileNanos(0.5);
+        Assert.assertTrue(p50 >= 50000 && p50 < 100000);
+        Assert.assertEquals(100000, histogram.getPercentileNanos(1.0));
+    }
+}
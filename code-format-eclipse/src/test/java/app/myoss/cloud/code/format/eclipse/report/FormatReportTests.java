@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.CancellationToken;
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.LineRange;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.core.lang.json.JsonApi;
+import app.myoss.cloud.core.lang.json.JsonObject;
+
+/**
+ * {@link FormatReport} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午12:31:47
+ */
+public class FormatReportTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatDirectoryReportTest1() throws IOException {
+        File directory = temporaryFolder.newFolder("report");
+        String unformatted = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        String formatted = "import java.io.File;\nimport java.util.List;\n\npublic class Demo {\n"
+                + "    private List<File> files;\n}\n";
+        write(directory, "a/Demo.java", unformatted);
+        write(directory, "b/Formatted.java", formatted);
+        write(directory, "c/Broken.java", "public class Broken {\n}\n");
+        write(directory, "c/readme.txt", "not java");
+
+        JavaCodeFormatter formatter = new FailingJavaCodeFormatter();
+        FormatReport report = formatter.formatDirectoryReport(directory.getPath(), 1);
+        Assert.assertEquals(3, report.getFileCount());
+        Assert.assertEquals(1, report.getChangedCount());
+        Assert.assertEquals(1, report.getUnchangedCount());
+        Assert.assertEquals(1, report.getFailedCount());
+        Assert.assertEquals(unformatted.length() + formatted.length() + 24, report.getInputLength());
+        Assert.assertEquals(formatted.length() * 2 + 24, report.getOutputLength());
+        Assert.assertEquals(Long.valueOf(1), report.getFailureTypes().get(IllegalStateException.class.getName()));
+
+        FileFormatResult broken = report.failedFiles().get(0);
+        Assert.assertTrue(broken.getFilePath().endsWith("Broken.java"));
+        Assert.assertEquals("broken source", broken.getExceptionMessage());
+        FileFormatResult rewrite = report.largestRewrites(1).get(0);
+        Assert.assertEquals(FileFormatStatus.CHANGED, rewrite.getStatus());
+        Assert.assertTrue(rewrite.getChangedLength() > 0 && rewrite.getChangedLength() < unformatted.length());
+        Assert.assertEquals(3, report.slowestFiles(5).size());
+        Assert.assertTrue(report.getTotalFileNanos() > 0);
+
+        JsonObject json = JsonApi.fromJson(report.toJson());
+        Assert.assertEquals(3, json.getAsNumber("fileCount").intValue());
+        Assert.assertEquals(3, json.getAsJsonArray("files").size());
+
+        // 并行格式化的结果与顺序格式化一致
+        write(directory, "a/Demo.java", unformatted);
+        FormatReport parallel = formatter.formatDirectoryReport(directory.getPath(), 3);
+        Assert.assertEquals(1, parallel.getChangedCount());
+        Assert.assertEquals(1, parallel.getFailedCount());
+        Assert.assertEquals(report.getFiles().get(2).getFilePath(), parallel.getFiles().get(2).getFilePath());
+    }
+
+    @Test
+    public void toJsonTest1() throws IOException {
+        String message = "unexpected \"token\"\n\tat C:\\src\\Demo.java\u0001";
+        FormatReport report = new FormatReport("C:\\src", 1000, Arrays.asList(new FileFormatResult("C:\\src\\Demo.java",
+                FileFormatStatus.FAILED, 10, 5, 5, 0, new IllegalStateException(message))));
+
+        JsonObject json = JsonApi.fromJson(report.toJson());
+        Assert.assertEquals("C:\\src", json.getAsString("directory"));
+        Assert.assertEquals(1,
+                json.getAsJsonObject("failureTypes").getAsNumber(IllegalStateException.class.getName()).intValue());
+        JsonObject file = json.getAsJsonArray("files").getAsJsonObject(0);
+        Assert.assertEquals("FAILED", file.getAsString("status"));
+        Assert.assertEquals(message, file.getAsString("exceptionMessage"));
+
+        Path path = temporaryFolder.newFile("report.json").toPath();
+        report.writeJson(path);
+        Assert.assertEquals(report.toJson(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void formatDirectoryBudgetTest1() throws IOException {
+        File directory = temporaryFolder.newFolder("budget");
+        String slow = "public class Slow {\n}\n";
+        StringBuilder big = new StringBuilder("public class Big {\n");
+        for (int i = 0; i < 100; i++) {
+            big.append("    int   field").append(i).append(";\n");
+        }
+        write(directory, "a/Slow.java", slow);
+        write(directory, "b/Big.java", big.append("}\n").toString());
+        write(directory, "c/Demo.java", "public class Demo {\n  int   value;\n}\n");
+
+        JavaCodeFormatter formatter = new FailingJavaCodeFormatter();
+        formatter.setFileTimeout(200, TimeUnit.MILLISECONDS);
+        formatter.setMaxFileSize(1000);
+        long start = System.nanoTime();
+        FormatReport report = formatter.formatDirectoryReport(directory.getPath(), 1);
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        Assert.assertEquals(1, report.getTimedOutCount());
+        Assert.assertEquals(1, report.getTooLargeCount());
+        Assert.assertEquals(1, report.getChangedCount());
+        Assert.assertEquals(2, report.failedFiles().size());
+        Assert.assertEquals(Long.valueOf(1), report.getFailureTypes().get(TimeoutException.class.getName()));
+        Assert.assertEquals(slow, read(directory, "a/Slow.java"));
+        Assert.assertEquals("public class Demo {\n    int value;\n}\n", read(directory, "c/Demo.java"));
+
+        // 取消之后，正在格式化的文件被放弃，还没有开始的文件不会格式化
+        write(directory, "c/Demo.java", "public class Demo {\n  int   value;\n}\n");
+        CancellationToken token = new CancellationToken();
+        formatter.setFileTimeout(0, TimeUnit.MILLISECONDS);
+        formatter.setMaxFileSize(0);
+        formatter.setCancellationToken(token);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.schedule(token::cancel, 200, TimeUnit.MILLISECONDS);
+        start = System.nanoTime();
+        report = formatter.formatDirectoryReport(directory.getPath(), 2);
+        scheduler.shutdown();
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        Assert.assertEquals(FileFormatStatus.CANCELLED, find(report, "Slow.java").getStatus());
+        Assert.assertEquals(report.getFileCount(), report.getChangedCount() + report.getCancelledCount());
+        Assert.assertEquals(slow, read(directory, "a/Slow.java"));
+    }
+
+    @Test
+    public void changedLengthTest1() {
+        Assert.assertEquals(0, FileFormatResult.changedLength("abc", "abc"));
+        Assert.assertEquals(1, FileFormatResult.changedLength("a b", "a  b"));
+        Assert.assertEquals(3, FileFormatResult.changedLength("abc", "xyz"));
+        Assert.assertEquals(2, FileFormatResult.changedLength("aaaa", "aa"));
+    }
+
+    private static FileFormatResult find(FormatReport report, String fileName) {
+        return report.getFiles().stream().filter(file -> file.getFilePath().endsWith(fileName)).findFirst().get();
+    }
+
+    private static String read(File directory, String name) throws IOException {
+        return new String(Files.readAllBytes(directory.toPath().resolve(name)), StandardCharsets.UTF_8);
+    }
+
+    private static void write(File directory, String name, String content) throws IOException {
+        Path file = directory.toPath().resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static final class FailingJavaCodeFormatter extends JavaCodeFormatter {
+        FailingJavaCodeFormatter() {
+            super(new ImportsSorter452(new ImportsComparator()));
+        }
+
+        FailingJavaCodeFormatter(FailingJavaCodeFormatter source) {
+            super(source);
+        }
+
+        @Override
+        public JavaCodeFormatter copy() {
+            return new FailingJavaCodeFormatter(this);
+        }
+
+        @Override
+        protected CharSequence format(String source, List<LineRange> lineRanges) throws BadLocationException {
+            if (source.contains("class Broken")) {
+                throw new IllegalStateException("broken source");
+            }
+            if (source.contains("class Slow")) {
+                // 模拟 eclipse 格式化卡住，不响应中断
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                }
+            }
+            return super.format(source, lineRanges);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.util.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import app.myoss.cloud.code.format.eclipse.LineRange;
+
+/**
+ * {@link DiffUtils} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午12:20:44
+ */
+public class DiffUtilsTests {
+    @Test
+    public void parseChangedLinesTest1() {
+        String diff = "diff --git a/src/Demo.java b/src/Demo.java\n" + "index 1111111..2222222 100644\n"
+                + "--- a/src/Demo.java\n" + "+++ b/src/Demo.java\n" + "@@ -3,2 +3,3 @@ public class Demo {\n"
+                + " context\n" + "-removed\n" + "+added1\n" + "+added2\n" + " context\n" + "@@ -20,0 +21,1 @@\n"
+                + "+added3\n" + "diff --git a/src/Removed.java b/src/Removed.java\n" + "deleted file mode 100644\n"
+                + "--- a/src/Removed.java\n" + "+++ /dev/null\n" + "@@ -1,2 +0,0 @@\n" + "-line1\n" + "-line2\n"
+                + "diff --git a/README.md b/README.md\n" + "--- a/README.md\n" + "+++ b/README.md\n" + "@@ -1 +1 @@\n"
+                + "-old\n" + "+new\n";
+        Map<String, List<LineRange>> result = DiffUtils.parseChangedLines(diff);
+        Assert.assertEquals(Lists.newArrayList("src/Demo.java", "README.md"), Lists.newArrayList(result.keySet()));
+        Assert.assertEquals(Lists.newArrayList(new LineRange(4, 5), new LineRange(21, 21)),
+                result.get("src/Demo.java"));
+        Assert.assertEquals(Lists.newArrayList(new LineRange(1, 1)), result.get("README.md"));
+    }
+
+    @Test
+    public void parseChangedLinesTest2() {
+        // hunk 中新增的 "++ i;" 和删除的 "-- comment" 不是文件头
+        String diff = "--- a/src/Demo.java\n" + "+++ b/src/Demo.java\n" + "@@ -5,3 +5,4 @@\n" + " context\n"
+                + "--- comment\n" + "+++ i;\n" + "+added\n" + " context\n" + "@@ -30 +31 @@\n" + "-old\n" + "+new\n";
+        Map<String, List<LineRange>> result = DiffUtils.parseChangedLines(diff);
+        Assert.assertEquals(Lists.newArrayList("src/Demo.java"), Lists.newArrayList(result.keySet()));
+        Assert.assertEquals(Lists.newArrayList(new LineRange(6, 7), new LineRange(31, 31)),
+                result.get("src/Demo.java"));
+    }
+}
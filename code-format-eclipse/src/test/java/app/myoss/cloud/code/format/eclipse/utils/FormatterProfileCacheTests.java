@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * {@link FormatterProfileCache} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午5:40:12
+ */
+public class FormatterProfileCacheTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getTest1() throws IOException {
+        Path file = temporaryFolder.newFile("formatter.xml").toPath();
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<profiles version=\"14\">\n"
+                + "<profile kind=\"CodeFormatterProfile\" name=\"First\" version=\"14\">\n"
+                + "<setting id=\"tabulation.char\" value=\"tab\"/>\n</profile>\n"
+                + "<profile kind=\"CodeFormatterProfile\" name=\"Second\" version=\"14\">\n"
+                + "<setting id=\" tabulation.char \" value=\" space \"/>\n"
+                + "<setting id=\"tabulation.size\" value=\"4\"/>\n</profile>\n";
+        // 文件没有结束标签，读取完 First 之后就停止了，不会解析剩余的内容
+        Files.write(file, (xml + "<broken").getBytes(StandardCharsets.UTF_8));
+        Map<String, String> first = FormatterProfileCache.get(file, "First");
+        Assert.assertEquals("tab", first.get("tabulation.char"));
+        Assert.assertSame(first, FormatterProfileCache.get(file, "First"));
+        try {
+            first.put("tabulation.size", "8");
+            Assert.fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+
+        Files.write(file, (xml + "</profiles>\n").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        Map<String, String> second = FormatterProfileCache.get(file.toUri().toURL(), "Second");
+        Assert.assertEquals("space", second.get("tabulation.char"));
+        Assert.assertEquals("4", second.get("tabulation.size"));
+        Assert.assertNotSame(first, FormatterProfileCache.get(file, "First"));
+    }
+
+    @Test
+    public void getTest2() {
+        URL url = Objects.requireNonNull(FileUtils.class.getClassLoader()
+                .getResource("eclipse-formatter-config/Default-Formatter-1.8.xml"));
+        Map<String, String> settings = FormatterProfileCache.get(url, "Default");
+        Assert.assertSame(settings, FormatterProfileCache.get(url, "Default"));
+        Assert.assertEquals(FileUtils.readXmlJavaSettingsFile(new File(url.getPath()).getPath(), "Default"),
+                FileUtils.readXmlJavaSettingsFile(url, "Default"));
+        try {
+            FileUtils.readXmlJavaSettings(new ByteArrayInputStream("<profiles/>".getBytes(StandardCharsets.UTF_8)),
+                    "Default");
+            Assert.fail();
+        } catch (IllegalStateException ex) {
+            Assert.assertTrue(ex.getMessage().contains("does not contain any profiles"));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+import app.myoss.cloud.code.format.eclipse.report.FormatReport;
+
+/**
+ * {@link GitUtils} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午4:41:09
+ */
+public class GitUtilsTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private Path           repository;
+
+    @Before
+    public void setup() throws Exception {
+        Process process;
+        try {
+            process = new ProcessBuilder("git", "--version").start();
+        } catch (IOException ex) {
+            process = null;
+        }
+        Assume.assumeTrue("git is not installed", process != null && process.waitFor() == 0);
+        repository = temporaryFolder.newFolder("repository").toPath();
+        git("init", "-q");
+        git("config", "user.email", "test@myoss.app");
+        git("config", "user.name", "test");
+    }
+
+    @Test
+    public void changedFilesTest1() throws Exception {
+        write("src/Committed.java", "public class Committed {\n}\n");
+        write("src/Deleted.java", "public class Deleted {\n}\n");
+        write(".gitignore", "target/\n");
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(".gitignore", "src/Committed.java", "src/Deleted.java")),
+                relative(GitUtils.changedFiles(repository, null)));
+        git("add", ".");
+        git("commit", "-q", "-m", "init");
+        git("tag", "base");
+        Assert.assertEquals(Collections.emptySet(), relative(GitUtils.changedFiles(repository, null)));
+
+        write("src/Branch.java", "public class Branch {\n  int   value;\n}\n");
+        git("add", ".");
+        git("commit", "-q", "-m", "branch");
+        write("src/Staged.java", "public class Staged {\n  int   value;\n}\n");
+        git("add", "src/Staged.java");
+        write("src/Committed.java", "public class Committed {\n  int   value;\n}\n");
+        write("src/New.java", "public class New {\n  int   value;\n}\n");
+        write("target/Ignored.java", "public class Ignored {\n}\n");
+        Files.delete(repository.resolve("src/Deleted.java"));
+
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("src/Committed.java", "src/New.java", "src/Staged.java")),
+                relative(GitUtils.changedFiles(repository, null)));
+        Assert.assertEquals(
+                new TreeSet<>(
+                        Arrays.asList("src/Branch.java", "src/Committed.java", "src/New.java", "src/Staged.java")),
+                relative(GitUtils.changedFiles(repository, "base")));
+
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        FormatReport report = formatter.formatChangedFiles(repository.toString(), "base", 1);
+        Assert.assertEquals(4, report.getFileCount());
+        Assert.assertEquals(4, report.getChangedCount());
+        Assert.assertEquals("public class Branch {\n    int value;\n}\n", read("src/Branch.java"));
+    }
+
+    private Set<String> relative(List<Path> files) {
+        Set<String> result = new TreeSet<>();
+        for (Path file : files) {
+            result.add(repository.relativize(file).toString().replace('\\', '/'));
+        }
+        return result;
+    }
+
+    private void git(String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command).directory(repository.toFile()).inheritIO().start();
+        Assert.assertEquals(0, process.waitFor());
+    }
+
+    private String read(String name) throws IOException {
+        return new String(Files.readAllBytes(repository.resolve(name)), StandardCharsets.UTF_8);
+    }
+
+    private void write(String name, String content) throws IOException {
+        Path file = repository.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.eclipse.utils;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link TextUtils} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午1:58:30
+ */
+public class TextUtilsTests {
+    private static final Pattern TRAILING_SPACES = Pattern.compile("([^ \\t\\r\\n])[ \\t]+$", Pattern.MULTILINE);
+
+    private static String stripByRegex(String text) {
+        Matcher matcher = TRAILING_SPACES.matcher(text);
+        return (matcher.find() ? matcher.replaceAll("$1") : text);
+    }
+
+    private static void assertSameAsRegex(String text) {
+        StringBuilder builder = new StringBuilder(text);
+        boolean stripped = TextUtils.stripTrailingSpaces(builder);
+        String excepted = stripByRegex(text);
+        Assert.assertEquals(text.replace("\t", "\\t"), excepted, builder.toString());
+        Assert.assertEquals(!excepted.equals(text), stripped);
+    }
+
+    @Test
+    public void stripTrailingSpacesTest1() {
+        String[] cases = { "", " ", "\t \n", "a", "a ", "a \t", "a  \nb\t\n", "a\r\n", "a \r\nb \r\n", "a \rb",
+                "   \n  a  \n   ", " a", "\n  ", "a b c", "a \t b \t", "a \u2028", "\u2028  \n", "a \u0085b", "a\n \n" };
+        for (String text : cases) {
+            assertSameAsRegex(text);
+        }
+    }
+
+    @Test
+    public void stripTrailingSpacesRandomTest1() {
+        char[] chars = { 'a', ' ', '\t', '\n', '\r', (char) 0x2028, ';' };
+        Random random = new Random(20181018L);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                text.append(chars[random.nextInt(chars.length)]);
+            }
+            assertSameAsRegex(text.toString());
+        }
+    }
+
+    @Test
+    public void dominantLineSeparatorTest1() {
+        Assert.assertEquals("\n", TextUtils.dominantLineSeparator(""));
+        Assert.assertEquals("\n", TextUtils.dominantLineSeparator("a\nb\nc"));
+        Assert.assertEquals("\r\n", TextUtils.dominantLineSeparator("a\r\nb\r\nc\n"));
+        Assert.assertEquals("\r", TextUtils.dominantLineSeparator("a\rb\rc"));
+        Assert.assertEquals("\n", TextUtils.dominantLineSeparator("a\r\nb\nc"));
+    }
+
+    @Test
+    public void convertLineSeparatorsTest1() {
+        Assert.assertEquals("a\nb\nc",
+                TextUtils.convertLineSeparators("a\nb\nc", 0, "\n", new StringBuilder()).toString());
+        Assert.assertEquals("a\nb\nc\n",
+                TextUtils.convertLineSeparators("a\r\nb\rc\n", 0, "\n", new StringBuilder()).toString());
+        Assert.assertEquals("a\r\nb\r\nc\r\n",
+                TextUtils.convertLineSeparators("a\r\nb\rc\n", 0, "\r\n", new StringBuilder()).toString());
+    }
+
+    @Test
+    public void convertLineSeparatorsTest2() {
+        StringBuilder result = new StringBuilder("x");
+        Assert.assertSame(result, TextUtils.convertLineSeparators("\uFEFFa\r\nb\rc", 1, "\n", result));
+        Assert.assertEquals("xa\nb\nc", result.toString());
+        Assert.assertEquals("a\r\nb\r\n",
+                TextUtils.convertLineSeparators("a\nb\r\n", 0, "\r\n", new StringBuilder()).toString());
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.maven;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.Scanner;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import app.myoss.cloud.code.format.eclipse.FormatterKey;
+import app.myoss.cloud.code.format.eclipse.FormatterRegistry;
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.cache.FormatCache;
+import app.myoss.cloud.core.constants.MyossConstants;
+import app.myoss.cloud.core.exception.BizRuntimeException;
+
+/**
+ * 格式化 Java 代码的 Maven 插件基类
+ *
+ * <pre>
+ * 1. 通过 {@link BuildContext} 只扫描过期的源文件（IDE 增量构建时只有修改过的文件）
+ * 2. 通过格式化结果缓存跳过内容没有变化的文件（命令行全量构建时）
+ * 3. 同一个 JVM 中所有模块共享编译好的格式化规则（{@link FormatterRegistry}），每次构建使用独立的格式化工具，支持 -T 并行构建
+ * </pre>
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午10:02:37
+ */
+public abstract class AbstractCodeFormatMojo extends AbstractMojo {
+    private static final FormatterRegistry REGISTRY = new FormatterRegistry(16);
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject                 project;
+
+    @Component
+    protected BuildContext                 buildContext;
+
+    /**
+     * 是否跳过
+     */
+    @Parameter(property = "codeformat.skip", defaultValue = "false")
+    protected boolean                      skip;
+
+    /**
+     * EclipseCodeFormatter 格式化规则文件，默认使用内置的格式化规则
+     */
+    @Parameter(property = "codeformat.configFile")
+    protected File                         configFile;
+
+    /**
+     * EclipseCodeFormatter 格式化规则文件中的 profile
+     */
+    @Parameter(property = "codeformat.profile", defaultValue = "Default")
+    protected String                       profile;
+
+    /**
+     * 被格式化代码的 Java 版本
+     */
+    @Parameter(property = "codeformat.complianceLevel", defaultValue = "${maven.compiler.source}")
+    protected String                       complianceLevel;
+
+    /**
+     * import 排序规则，默认：java、javax、org、com
+     */
+    @Parameter
+    protected List<String>                 importOrder;
+
+    /**
+     * 并行线程数，小于等于0时使用 CPU 核数
+     */
+    @Parameter(property = "codeformat.parallelism", defaultValue = "0")
+    protected int                          parallelism;
+
+    /**
+     * 格式化结果缓存文件，为空时不使用缓存
+     */
+    @Parameter(property = "codeformat.cacheFile", defaultValue = "${project.build.directory}/code-format.cache")
+    protected File                         cacheFile;
+
+    /**
+     * 是否格式化测试代码
+     */
+    @Parameter(property = "codeformat.includeTests", defaultValue = "true")
+    protected boolean                      includeTests;
+
+    /**
+     * 文件编码
+     */
+    @Parameter(property = "codeformat.encoding", defaultValue = "${project.build.sourceEncoding}")
+    protected String                       encoding;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("code format is skipped");
+            return;
+        }
+        List<File> files = collectStaleFiles();
+        if (files.isEmpty()) {
+            getLog().debug("no stale java sources");
+            return;
+        }
+        JavaCodeFormatter formatter;
+        try {
+            formatter = REGISTRY.newFormatter(getFormatterKey());
+        } catch (RuntimeException ex) {
+            throw new MojoExecutionException("load formatter config failed", ex);
+        }
+        FormatCache formatCache = null;
+        if (cacheFile != null) {
+            formatCache = FormatCache.load(cacheFile.toPath(), formatter.getFingerprint());
+        }
+        int threads = (parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        Charset charset = (StringUtils.isNotBlank(encoding) ? Charset.forName(encoding)
+                : MyossConstants.DEFAULT_CHARSET);
+        FormatResult result = new SourceFormatter(formatter, formatCache, threads, isCheck(), charset).format(files);
+        if (formatCache != null) {
+            formatCache.save();
+        }
+        handleResult(result);
+    }
+
+    /**
+     * 是否只检查文件是否已经格式化，不会修改文件
+     *
+     * @return true: 只检查
+     */
+    protected abstract boolean isCheck();
+
+    /**
+     * 处理格式化结果
+     *
+     * @param result 格式化结果统计
+     * @throws MojoExecutionException 格式化失败
+     * @throws MojoFailureException 检查不通过
+     */
+    protected abstract void handleResult(FormatResult result) throws MojoExecutionException, MojoFailureException;
+
+    /**
+     * 格式化失败时抛出异常
+     *
+     * @param result 格式化结果统计
+     * @throws MojoExecutionException 格式化失败
+     */
+    protected void checkFailed(FormatResult result) throws MojoExecutionException {
+        if (result.getFailedFiles().isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("format failed:");
+        result.getFailedFiles().forEach((file, reason) -> {
+            message.append("\n  ").append(file).append(": ").append(reason);
+            buildContext.addMessage(file, 0, 0, reason, BuildContext.SEVERITY_ERROR, null);
+        });
+        throw new MojoExecutionException(message.toString());
+    }
+
+    /**
+     * 通过 {@link BuildContext} 扫描过期的 Java 源文件，不包括 target 目录下生成的代码
+     *
+     * @return Java 源文件
+     */
+    protected List<File> collectStaleFiles() {
+        List<String> roots = new ArrayList<>(project.getCompileSourceRoots());
+        if (includeTests) {
+            roots.addAll(project.getTestCompileSourceRoots());
+        }
+        String buildDirectory = new File(project.getBuild().getDirectory()).getAbsolutePath() + File.separator;
+        List<File> files = new ArrayList<>();
+        for (String root : roots) {
+            File directory = new File(root);
+            if (!directory.isDirectory() || directory.getAbsolutePath().startsWith(buildDirectory)) {
+                continue;
+            }
+            Scanner scanner = buildContext.newScanner(directory);
+            scanner.setIncludes(new String[] { "**/*.java" });
+            scanner.scan();
+            for (String name : scanner.getIncludedFiles()) {
+                files.add(new File(directory, name));
+            }
+        }
+        return files;
+    }
+
+    private FormatterKey getFormatterKey() throws MojoExecutionException {
+        String level = normalizeComplianceLevel(complianceLevel);
+        try {
+            URL url = (configFile != null ? configFile.toURI().toURL() : getDefaultFormatConfigFile(level));
+            return new FormatterKey(url, (configFile != null ? profile : "Default"), level, importOrder);
+        } catch (MalformedURLException ex) {
+            throw new MojoExecutionException("invalid config file: " + configFile, ex);
+        }
+    }
+
+    /**
+     * 转换 Java 版本，比如：8 转换为 1.8
+     *
+     * @param level Java 版本
+     * @return 转换之后的 Java 版本，为空时使用当前 JVM 的版本
+     */
+    static String normalizeComplianceLevel(String level) {
+        if (StringUtils.isBlank(level)) {
+            return JavaCodeFormatter.JAVA_VERSION;
+        }
+        String value = level.trim();
+        if (value.length() == 1 && Character.isDigit(value.charAt(0)) && value.charAt(0) <= '8') {
+            return "1." + value;
+        }
+        return value;
+    }
+
+    private static URL getDefaultFormatConfigFile(String level) {
+        try {
+            return FormatterKey.defaultFor(level).toFormatConfigFileUrl();
+        } catch (BizRuntimeException ex) {
+            // 没有对应版本的内置格式化规则，Java 9 及以上使用 11 的规则，其它的使用 1.8 的规则
+            boolean modern = !level.startsWith("1.");
+            return FormatterKey.defaultFor(modern ? "11" : "1.8").toFormatConfigFileUrl();
+        }
+    }
+}
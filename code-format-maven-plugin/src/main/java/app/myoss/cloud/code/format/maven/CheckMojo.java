@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.maven;
+
+import java.io.File;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+/**
+ * 检查 Java 代码是否已经格式化，不会修改文件，有文件没有格式化时构建失败：mvn code-format:check
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午10:25:03
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VALIDATE, threadSafe = true)
+public class CheckMojo extends AbstractCodeFormatMojo {
+    @Override
+    protected boolean isCheck() {
+        return true;
+    }
+
+    @Override
+    protected void handleResult(FormatResult result) throws MojoExecutionException, MojoFailureException {
+        getLog().info("code format check " + result);
+        checkFailed(result);
+        if (result.getChangedFiles().isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("java sources are not formatted, run mvn code-format:format:");
+        for (File file : result.getChangedFiles()) {
+            message.append("\n  ").append(file);
+            buildContext.addMessage(file, 0, 0, "not formatted", BuildContext.SEVERITY_ERROR, null);
+        }
+        throw new MojoFailureException(message.toString());
+    }
+}
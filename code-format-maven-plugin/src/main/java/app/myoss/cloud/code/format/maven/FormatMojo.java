@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.maven;
+
+import java.io.File;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * 格式化 Java 代码：mvn code-format:format
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午10:21:14
+ */
+@Mojo(name = "format", defaultPhase = LifecyclePhase.PROCESS_SOURCES, threadSafe = true)
+public class FormatMojo extends AbstractCodeFormatMojo {
+    @Override
+    protected boolean isCheck() {
+        return false;
+    }
+
+    @Override
+    protected void handleResult(FormatResult result) throws MojoExecutionException {
+        for (File file : result.getChangedFiles()) {
+            buildContext.refresh(file);
+            getLog().debug("formatted: " + file);
+        }
+        getLog().info("code format " + result);
+        checkFailed(result);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.maven;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * 格式化结果统计
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午9:40:15
+ */
+@Getter
+public class FormatResult {
+    /**
+     * 格式化之后内容发生了变化的文件（check 模式下为没有格式化的文件）
+     */
+    private final List<File>        changedFiles   = new ArrayList<>();
+    /**
+     * 格式化失败的文件和失败原因
+     */
+    private final Map<File, String> failedFiles    = new LinkedHashMap<>();
+    /**
+     * 格式化之后内容没有变化的文件数量
+     */
+    private int                     unchangedCount;
+    /**
+     * 格式化结果缓存命中，跳过的文件数量
+     */
+    private int                     skippedCount;
+
+    void addChanged(File file) {
+        changedFiles.add(file);
+    }
+
+    void addFailed(File file, String message) {
+        failedFiles.put(file, message);
+    }
+
+    void addUnchanged() {
+        unchangedCount++;
+    }
+
+    void addSkipped() {
+        skippedCount++;
+    }
+
+    @Override
+    public String toString() {
+        return "changed: " + changedFiles.size() + ", unchanged: " + unchangedCount + ", skipped: " + skippedCount
+                + ", failed: " + failedFiles.size();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.maven;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.cache.FormatCache;
+import app.myoss.cloud.code.format.eclipse.report.FileFormatResult;
+
+/**
+ * 并行格式化（或者检查）一批 Java 文件，与 Maven 无关，可以单独使用
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午9:46:52
+ */
+public class SourceFormatter {
+    private final JavaCodeFormatter formatter;
+    private final FormatCache       formatCache;
+    private final int               parallelism;
+    private final boolean           check;
+    private final Charset           charset;
+
+    /**
+     * 并行格式化（或者检查）一批 Java 文件
+     *
+     * @param formatter 格式化工具，格式化时会设置它的格式化结果缓存和编码，不能是只读的，比如
+     *            {@code FormatterRegistry#newFormatter} 返回的实例
+     * @param formatCache 格式化结果缓存，为 null 时不使用缓存
+     * @param parallelism 并行线程数
+     * @param check true: 只检查文件是否已经格式化，不会修改文件; false: 格式化文件
+     * @param charset 文件编码
+     */
+    public SourceFormatter(JavaCodeFormatter formatter, FormatCache formatCache, int parallelism, boolean check,
+                           Charset charset) {
+        this.formatter = formatter;
+        this.formatCache = formatCache;
+        this.parallelism = Math.max(1, parallelism);
+        this.check = check;
+        this.charset = charset;
+    }
+
+    /**
+     * 格式化（或者检查）文件
+     *
+     * @param files Java 文件
+     * @return 格式化结果统计
+     */
+    public FormatResult format(List<File> files) {
+        List<Path> paths = new ArrayList<>(files.size());
+        for (File file : files) {
+            paths.add(file.toPath());
+        }
+        formatter.setFormatCache(formatCache);
+        formatter.setCharset(charset);
+        List<FileFormatResult> results = (check ? formatter.checkFilesResult(paths, parallelism)
+                : formatter.formatFilesResult(paths, parallelism));
+
+        FormatResult result = new FormatResult();
+        for (int i = 0; i < results.size(); i++) {
+            switch (results.get(i).getStatus()) {
+                case CHANGED:
+                    result.addChanged(files.get(i));
+                    break;
+                case UNCHANGED:
+                    result.addUnchanged();
+                    break;
+                case SKIPPED:
+                case TOO_LARGE:
+                    result.addSkipped();
+                    break;
+                default:
+                    result.addFailed(files.get(i), results.get(i).describeFailure());
+            }
+        }
+        return result;
+    }
+}
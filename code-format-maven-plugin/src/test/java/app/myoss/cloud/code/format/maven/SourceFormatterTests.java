@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2018 https://github.com/myoss
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package app.myoss.cloud.code.format.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.assertj.core.util.Lists;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import app.myoss.cloud.code.format.eclipse.JavaCodeFormatter;
+import app.myoss.cloud.code.format.eclipse.cache.FormatCache;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsComparator;
+import app.myoss.cloud.code.format.eclipse.imports.impl.ImportsSorter452;
+
+/**
+ * {@link SourceFormatter} 测试类
+ *
+ * @author Jerry.Chen
+ * @since 2026年10月18日 下午10:38:46
+ */
+public class SourceFormatterTests {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void formatTest1() throws IOException {
+        String source = "import java.util.List;\nimport java.io.File;\npublic class Demo {\n"
+                + "\tprivate   List<File>   files;\n}\n";
+        File file1 = temporaryFolder.newFile("Demo1.java");
+        File file2 = temporaryFolder.newFile("Demo2.java");
+        File deleted = new File(temporaryFolder.getRoot(), "Deleted.java");
+        Files.write(file1.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        Files.write(file2.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        List<File> files = Lists.newArrayList(file1, file2);
+
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        Path cacheFile = temporaryFolder.getRoot().toPath().resolve("code-format.cache");
+        FormatCache formatCache = FormatCache.load(cacheFile, formatter.getFingerprint());
+
+        FormatResult result = new SourceFormatter(formatter, formatCache, 2, true, StandardCharsets.UTF_8)
+                .format(files);
+        Assert.assertEquals(files, result.getChangedFiles());
+        Assert.assertEquals(source, new String(Files.readAllBytes(file1.toPath()), StandardCharsets.UTF_8));
+
+        result = new SourceFormatter(formatter, formatCache, 2, false, StandardCharsets.UTF_8).format(files);
+        Assert.assertEquals(files, result.getChangedFiles());
+        Assert.assertNotEquals(source, new String(Files.readAllBytes(file1.toPath()), StandardCharsets.UTF_8));
+
+        result = new SourceFormatter(formatter, formatCache, 2, true, StandardCharsets.UTF_8).format(files);
+        Assert.assertTrue(result.getChangedFiles().isEmpty());
+        Assert.assertEquals(2, result.getSkippedCount());
+
+        result = new SourceFormatter(formatter, null, 1, true, StandardCharsets.UTF_8)
+                .format(Lists.newArrayList(file1, deleted));
+        Assert.assertEquals(1, result.getUnchangedCount());
+        Assert.assertEquals(Lists.newArrayList(deleted), Lists.newArrayList(result.getFailedFiles().keySet()));
+    }
+
+    @Test
+    public void formatCrlfTest1() throws IOException {
+        String source = "public class Demo {\r\n    private int value;\r\n}\r\n";
+        File file = temporaryFolder.newFile("Demo.java");
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        List<File> files = Lists.newArrayList(file);
+
+        JavaCodeFormatter formatter = new JavaCodeFormatter(new ImportsSorter452(new ImportsComparator()));
+        FormatResult result = new SourceFormatter(formatter, null, 1, true, StandardCharsets.UTF_8).format(files);
+        Assert.assertEquals(1, result.getUnchangedCount());
+        result = new SourceFormatter(formatter, null, 1, false, StandardCharsets.UTF_8).format(files);
+        Assert.assertEquals(1, result.getUnchangedCount());
+        Assert.assertEquals(source, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+}